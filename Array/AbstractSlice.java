@@ -0,0 +1,196 @@
+package Array;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * A skeletal slice over storage that can be read by position.
+ *
+ * Subclasses read and write elements by their index within the slice, check
+ * their parent for structural modifications and create nested slices. This
+ * class does the bounds checks and provides iteration and copying on top.
+ * Iterators allocate nothing per element. Subclasses whose storage cannot
+ * be read by position cheaply, such as linked lists, should override
+ * iterator.
+ */
+public abstract class AbstractSlice<T extends Comparable<T>>
+implements Slice<T> {
+
+  // Instance variables
+
+  /*
+   * The number of elements in the slice.
+   */
+  private final int length;
+
+  // Constructor
+
+  /*
+   * Constructs a new slice of the given length.
+   * @param length The number of elements in the slice.
+   */
+  protected AbstractSlice(int length) {
+    this.length = length;
+  }
+
+  // Methods
+
+  /*
+   * Retrieves an element at the specified index of the slice.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    checkForComodification();
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return element(index);
+  }
+
+  /*
+   * Replaces an element at the specified index of the slice, writing
+   * through to the parent.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be stored at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @throws UnsupportedOperationException if the slice is read-only.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The element previously at the specified index.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    checkForComodification();
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return store(index, element);
+  }
+
+  /*
+   * Returns the number of elements in the slice.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The number of elements in the slice.
+   */
+  @Override
+  public int size() {
+    checkForComodification();
+    return this.length;
+  }
+
+  /*
+   * Checks if the slice is empty.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return true if the slice is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /*
+   * Returns a view of a range of this slice.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    checkForComodification();
+    if (fromIndex < 0 || toIndex > this.length || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return subSlice(fromIndex, toIndex);
+  }
+
+  /*
+   * Returns an iterator over the elements in the slice. It fails fast if
+   * the parent is structurally modified.
+   * @return An iterator over the elements in the slice.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    checkForComodification();
+    return new Iterator<T>() {
+      private int cursor = 0;
+
+      @Override
+      public boolean hasNext() {
+        return this.cursor < length;
+      }
+
+      @Override
+      public T next() {
+        checkForComodification();
+        if (this.cursor >= length) {
+          throw new NoSuchElementException();
+        }
+        return element(this.cursor++);
+      }
+    };
+  }
+
+  /*
+   * Returns a copy of the elements in the slice.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return An array containing the elements in the slice.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toArray() {
+    T[] array = (T[]) new Comparable[size()];
+    int i = 0;
+    for (T element : this) {
+      array[i++] = element;
+    }
+    return array;
+  }
+
+  // Helper methods
+
+  /*
+   * Reads an element of the slice. The index has already been checked.
+   * @param index The index within the slice.
+   * @return The element at that index.
+   */
+  protected abstract T element(int index);
+
+  /*
+   * Writes an element of the slice through to the parent. The index has
+   * already been checked. The default throws, making the slice read-only.
+   * @param index The index within the slice.
+   * @param element The element to be stored.
+   * @throws UnsupportedOperationException if the slice is read-only.
+   * @return The element previously at that index.
+   */
+  protected T store(int index, T element) {
+    throw new UnsupportedOperationException("Slice is read-only");
+  }
+
+  /*
+   * Creates a view of a range of this slice. The range has already been
+   * checked.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @return A view of the range.
+   */
+  protected abstract Slice<T> subSlice(int fromIndex, int toIndex);
+
+  /*
+   * Throws if the parent was structurally modified since the slice was
+   * created.
+   * @throws ConcurrentModificationException if the parent was modified.
+   */
+  protected abstract void checkForComodification();
+}
@@ -0,0 +1,51 @@
+package Array;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * A Flight Recorder event for a dynamic array moving its elements into a new
+ * backing array. The event covers the allocation and the copy.
+ *
+ * Disabled by default. Turn it on in a recording with
+ * "Array.Resize#enabled=true" or through Recording.enable. While it is off,
+ * shouldCommit is a constant false and the event object is never allocated
+ * once the caller is compiled.
+ */
+@Name("Array.Resize")
+@Label("Array Resize")
+@Category({"Data Structures", "Array"})
+@Description("A dynamic array moved its elements into a new backing array")
+@Enabled(false)
+@StackTrace(true)
+final class ArrayResizeEvent extends Event {
+
+  /*
+   * The estimated size of an element reference in bytes, assuming
+   * compressed references.
+   */
+  static final int REFERENCE_SIZE = 4;
+
+  @Label("Array Class")
+  Class<?> arrayClass;
+
+  @Label("Old Capacity")
+  int oldCapacity;
+
+  @Label("New Capacity")
+  int newCapacity;
+
+  @Label("Elements Copied")
+  int elementsCopied;
+
+  @Label("Bytes Copied")
+  @Description("Estimated from the number of elements copied")
+  @DataAmount
+  long bytesCopied;
+}
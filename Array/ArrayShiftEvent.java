@@ -0,0 +1,50 @@
+package Array;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * A Flight Recorder event for a dynamic array shifting a run of elements
+ * within its backing array to open or close a hole. Only shifts of at least
+ * THRESHOLD elements are recorded, so the common short shifts never touch
+ * the event at all.
+ *
+ * Disabled by default. Turn it on in a recording with
+ * "Array.Shift#enabled=true" or through Recording.enable.
+ */
+@Name("Array.Shift")
+@Label("Array Shift")
+@Category({"Data Structures", "Array"})
+@Description("A dynamic array shifted a long run of elements")
+@Enabled(false)
+@StackTrace(true)
+final class ArrayShiftEvent extends Event {
+
+  /*
+   * The fewest elements a shift must move to be recorded.
+   */
+  static final int THRESHOLD = 1024;
+
+  @Label("Array Class")
+  Class<?> arrayClass;
+
+  @Label("Source Index")
+  int sourceIndex;
+
+  @Label("Destination Index")
+  int destinationIndex;
+
+  @Label("Elements Moved")
+  int elementsMoved;
+
+  @Label("Bytes Moved")
+  @Description("Estimated from the number of elements moved")
+  @DataAmount
+  long bytesMoved;
+}
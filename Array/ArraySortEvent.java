@@ -0,0 +1,42 @@
+package Array;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/*
+ * A Flight Recorder event for a sort of a dynamic array. By default only
+ * sorts that take at least 10 ms are recorded; lower the threshold in the
+ * recording settings to see every sort.
+ *
+ * Disabled by default. Turn it on in a recording with
+ * "Array.Sort#enabled=true" or through Recording.enable.
+ */
+@Name("Array.Sort")
+@Label("Array Sort")
+@Category({"Data Structures", "Array"})
+@Description("A dynamic array sorted its elements")
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(true)
+final class ArraySortEvent extends Event {
+
+  @Label("Array Class")
+  Class<?> arrayClass;
+
+  @Label("Algorithm")
+  String algorithm;
+
+  @Label("Size")
+  @Description("The number of elements sorted")
+  int size;
+
+  @Label("Comparisons")
+  @Description("The number of comparisons made, or -1 if not counted")
+  long comparisons;
+}
@@ -0,0 +1,472 @@
+package Array;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * A chunked dynamic array with long indexes, for more than 2^31 elements.
+ *
+ * The elements live in fixed-size chunks of 2^16 slots, held by a directory
+ * array. Element i is in chunk i >>> CHUNK_BITS at offset i & CHUNK_MASK, so
+ * get and set cost one shift and one mask. Growing allocates one more chunk
+ * and never copies elements; only the directory, which holds one reference
+ * per chunk, is ever copied, and it doubles when full. Removing from the
+ * back keeps one spare chunk and releases any beyond it.
+ *
+ * Inserting or removing anywhere but the back shifts the following elements
+ * chunk by chunk, so it costs O(n) like in DynamicArray.
+ */
+public class BigDynamicArray<T extends Comparable<T>> implements Iterable<T> {
+
+  // Instance variables
+
+  /*
+   * The current number of elements in the array.
+   */
+  private long size;
+
+  /*
+   * The directory of chunks. Only the first chunkCount entries are in use.
+   */
+  private T[][] chunks;
+
+  /*
+   * The number of allocated chunks.
+   */
+  private int chunkCount;
+
+  /*
+   * The number of structural modifications made to the array, used to make
+   * iterators fail fast.
+   */
+  private int modCount;
+
+  /*
+   * The number of index bits that select the slot within a chunk.
+   */
+  private static final int CHUNK_BITS = 16;
+
+  /*
+   * The number of slots in a chunk.
+   */
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+  /*
+   * The mask that selects the slot within a chunk.
+   */
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  /*
+   * The initial length of the chunk directory.
+   */
+  private static final int INITIAL_DIRECTORY_LENGTH = 16;
+
+  // Constructor
+
+  /*
+   * Constructs a new, empty chunked dynamic array.
+   */
+  @SuppressWarnings("unchecked")
+  public BigDynamicArray() {
+    this.size = 0;
+    this.chunkCount = 0;
+    this.modCount = 0;
+    this.chunks = (T[][]) new Comparable[INITIAL_DIRECTORY_LENGTH][];
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the back of the array.
+   * @param element The element to be added to the back of the array.
+   * @throws IllegalArgumentException if element is null.
+   */
+  public void addBack(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (this.size == capacity()) {
+      addChunk();
+    }
+    this.modCount++;
+    this.chunks[(int) (this.size >>> CHUNK_BITS)][(int) this.size & CHUNK_MASK]
+        = element;
+    this.size++;
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the array, the element should be added to the back of the array.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   */
+  public void add(long index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (index < 0 || index > this.size) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (this.size == capacity()) {
+      addChunk();
+    }
+    this.modCount++;
+    move(index, index + 1, this.size - index);
+    slot(index, element);
+    this.size++;
+  }
+
+  /*
+   * Adds all elements of the given array to the back of the array, in order,
+   * copying them into the chunks in bulk.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  public void addAll(T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+    ensureCapacity(this.size + elements.length);
+    this.modCount++;
+    int copied = 0;
+    while (copied < elements.length) {
+      int offset = (int) this.size & CHUNK_MASK;
+      int count = Math.min(elements.length - copied, CHUNK_SIZE - offset);
+      System.arraycopy(elements, copied,
+          this.chunks[(int) (this.size >>> CHUNK_BITS)], offset, count);
+      copied += count;
+      this.size += count;
+    }
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  public T get(long index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return this.chunks[(int) (index >>> CHUNK_BITS)][(int) index & CHUNK_MASK];
+  }
+
+  /*
+   * Replaces an element at the specified index.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be replaced at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @return The element that was replaced.
+   */
+  public T set(long index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T[] chunk = this.chunks[(int) (index >>> CHUNK_BITS)];
+    int offset = (int) index & CHUNK_MASK;
+    T oldElement = chunk[offset];
+    chunk[offset] = element;
+    return oldElement;
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  public long firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (int c = 0; c < this.chunkCount; c++) {
+      T[] chunk = this.chunks[c];
+      long base = (long) c << CHUNK_BITS;
+      int end = (int) Math.min(CHUNK_SIZE, this.size - base);
+      for (int i = 0; i < end; i++) {
+        if (chunk[i].equals(element)) {
+          return base + i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  public long lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (long i = this.size - 1; i >= 0; i--) {
+      if (this.chunks[(int) (i >>> CHUNK_BITS)][(int) i & CHUNK_MASK]
+          .equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the array contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the array contains the given element, false otherwise.
+   */
+  public boolean contains(T element) {
+    return firstIndexOf(element) != -1;
+  }
+
+  /*
+   * Removes the element at the back of the array.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  public T removeBack() {
+    if (isEmpty()) {
+      return null;
+    }
+    return remove(this.size - 1);
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  public T remove(long index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    this.modCount++;
+    T removedElement = get(index);
+    move(index + 1, index, this.size - index - 1);
+    this.size--;
+    slot(this.size, null);
+    releaseSpareChunks();
+    return removedElement;
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /*
+   * Returns the number of elements the allocated chunks can hold.
+   * @return The capacity of the array.
+   */
+  public long capacity() {
+    return (long) this.chunkCount << CHUNK_BITS;
+  }
+
+  /*
+   * Removes all elements from the array and releases every chunk.
+   */
+  @SuppressWarnings("unchecked")
+  public void clear() {
+    this.modCount++;
+    this.size = 0;
+    this.chunkCount = 0;
+    this.chunks = (T[][]) new Comparable[INITIAL_DIRECTORY_LENGTH][];
+  }
+
+  /*
+   * Allocates chunks, if necessary, so that the array can hold at least the
+   * given number of elements.
+   * @param minCapacity The number of elements the array must be able to hold.
+   * @throws OutOfMemoryError if the directory cannot hold enough chunks.
+   */
+  public void ensureCapacity(long minCapacity) {
+    while (capacity() < minCapacity) {
+      addChunk();
+    }
+  }
+
+  /*
+   * Releases every chunk that holds no elements.
+   */
+  public void trimToSize() {
+    int needed = (int) ((this.size + CHUNK_MASK) >>> CHUNK_BITS);
+    while (this.chunkCount > needed) {
+      this.chunks[--this.chunkCount] = null;
+    }
+  }
+
+  /*
+   * Returns an iterator over the elements in the array, from front to back.
+   * The iterator is fail-fast: it throws ConcurrentModificationException
+   * if the array is structurally modified other than through the iterator.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new ChunkIterator();
+  }
+
+  // Helper methods
+
+  /*
+   * Writes a slot without any checks.
+   * @param index The index of the slot.
+   * @param element The element to be written, or null to clear the slot.
+   */
+  private void slot(long index, T element) {
+    this.chunks[(int) (index >>> CHUNK_BITS)][(int) index & CHUNK_MASK] =
+        element;
+  }
+
+  /*
+   * Appends a new chunk, doubling the directory first if it is full.
+   * @throws OutOfMemoryError if the directory cannot grow any further.
+   */
+  @SuppressWarnings("unchecked")
+  private void addChunk() {
+    if (this.chunkCount == this.chunks.length) {
+      if (this.chunks.length >= GrowthPolicy.MAX_CAPACITY) {
+        throw new OutOfMemoryError("Chunk directory is full");
+      }
+      int newLength = (int) Math.min((long) this.chunks.length * 2,
+          GrowthPolicy.MAX_CAPACITY);
+      this.chunks = Arrays.copyOf(this.chunks, newLength);
+    }
+    this.chunks[this.chunkCount++] = (T[]) new Comparable[CHUNK_SIZE];
+  }
+
+  /*
+   * Releases chunks beyond the one holding the back of the array, keeping
+   * a single empty chunk so that alternating adds and removes at a chunk
+   * boundary do not allocate every time.
+   */
+  private void releaseSpareChunks() {
+    int needed = (int) ((this.size + CHUNK_MASK) >>> CHUNK_BITS) + 1;
+    while (this.chunkCount > needed) {
+      this.chunks[--this.chunkCount] = null;
+    }
+  }
+
+  /*
+   * Moves count elements starting at the from index so that they start at
+   * the to index, one arraycopy per piece that lies within a single chunk on
+   * both sides. The ranges may overlap.
+   * @param from The index of the first element to be moved.
+   * @param to The index the first element is moved to.
+   * @param count The number of elements to be moved.
+   */
+  private void move(long from, long to, long count) {
+    if (to > from) {
+      long sourceEnd = from + count;
+      long targetEnd = to + count;
+      while (count > 0) {
+        int n = (int) Math.min(count, Math.min(
+            ((sourceEnd - 1) & CHUNK_MASK) + 1,
+            ((targetEnd - 1) & CHUNK_MASK) + 1));
+        sourceEnd -= n;
+        targetEnd -= n;
+        System.arraycopy(
+            this.chunks[(int) (sourceEnd >>> CHUNK_BITS)],
+            (int) sourceEnd & CHUNK_MASK,
+            this.chunks[(int) (targetEnd >>> CHUNK_BITS)],
+            (int) targetEnd & CHUNK_MASK, n);
+        count -= n;
+      }
+    } else {
+      while (count > 0) {
+        int n = (int) Math.min(count, Math.min(
+            CHUNK_SIZE - (from & CHUNK_MASK),
+            CHUNK_SIZE - (to & CHUNK_MASK)));
+        System.arraycopy(
+            this.chunks[(int) (from >>> CHUNK_BITS)], (int) from & CHUNK_MASK,
+            this.chunks[(int) (to >>> CHUNK_BITS)], (int) to & CHUNK_MASK, n);
+        from += n;
+        to += n;
+        count -= n;
+      }
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the array.
+   */
+  private class ChunkIterator implements Iterator<T> {
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private long cursor;
+
+    /*
+     * The modification count the iterator expects the array to have.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs an iterator positioned before the first element.
+     */
+    ChunkIterator() {
+      this.cursor = 0;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < size;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (this.cursor >= size) {
+        throw new NoSuchElementException();
+      }
+      long i = this.cursor++;
+      return chunks[(int) (i >>> CHUNK_BITS)][(int) i & CHUNK_MASK];
+    }
+  }
+}
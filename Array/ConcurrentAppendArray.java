@@ -0,0 +1,318 @@
+package Array;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * A lock-free, append-only dynamic array for many concurrent producers.
+ *
+ * A producer reserves a slot with a compare-and-set on the reserved count
+ * and then writes its element into that slot. The compare-and-set checks
+ * the capacity before it advances the count, so a failed reservation
+ * leaves nothing behind. Producers never wait for each other. The only
+ * contention between them is that one atomic counter.
+ *
+ * The storage is a fixed directory of segments whose sizes double: segment
+ * k holds FIRST_SEGMENT_SIZE << k slots. Segments are installed with a
+ * compare-and-set the first time a slot in them is reserved, and a slot
+ * never moves once written, so nothing is ever copied.
+ *
+ * Slots can be written out of order, so readers only see the prefix of
+ * slots that have all been written. The end of that prefix is the
+ * watermark. Any reader moves it forward by scanning written slots, and
+ * every slot below the watermark is safely published.
+ *
+ * The watermark cannot move past a reserved slot that is never written.
+ * If a producer dies between reserving its slots and writing them, for
+ * example because a thread is stopped or installing a segment runs out of
+ * memory, the hole stays forever. Every element appended after it is
+ * stored but never published. Nothing can repair the hole without a lock.
+ */
+public class ConcurrentAppendArray<T extends Comparable<T>> implements Iterable<T> {
+
+  // Instance variables
+
+  /*
+   * The segments, each installed on first use.
+   */
+  private final AtomicReferenceArray<AtomicReferenceArray<T>> segments;
+
+  /*
+   * The number of slots reserved by producers.
+   */
+  private final AtomicInteger reserved;
+
+  /*
+   * The number of leading slots known to be written.
+   */
+  private final AtomicInteger watermark;
+
+  /*
+   * The number of bits in the size of the first segment.
+   */
+  private static final int FIRST_SEGMENT_BITS = 5;
+
+  /*
+   * The size of the first segment.
+   */
+  private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_BITS;
+
+  /*
+   * The number of segments, enough for every non-negative int index.
+   */
+  private static final int SEGMENT_COUNT = 31 - FIRST_SEGMENT_BITS;
+
+  /*
+   * The largest number of elements the array can hold.
+   */
+  private static final int MAX_CAPACITY =
+      Integer.MAX_VALUE - FIRST_SEGMENT_SIZE + 1;
+
+  // Constructor
+
+  /*
+   * Constructs a new, empty concurrent append-only array.
+   */
+  public ConcurrentAppendArray() {
+    this.segments = new AtomicReferenceArray<>(SEGMENT_COUNT);
+    this.reserved = new AtomicInteger();
+    this.watermark = new AtomicInteger();
+  }
+
+  // Methods
+
+  /*
+   * Appends an element. Safe to call from any number of threads.
+   * @param element The element to be appended.
+   * @throws IllegalArgumentException if element is null.
+   * @throws OutOfMemoryError if the array is full.
+   * @return The index the element was written to.
+   */
+  public int addBack(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = reserve(1);
+    segmentFor(index).lazySet(offset(index), element);
+    return index;
+  }
+
+  /*
+   * Appends all elements of the given array to consecutive slots, reserving
+   * them with a single compare-and-set. Safe to call from any number of
+   * threads.
+   * @param elements The elements to be appended.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   * @throws OutOfMemoryError if the elements do not fit.
+   * @return The index the first element was written to.
+   */
+  public int addAll(T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+    int first = reserve(elements.length);
+    for (int i = 0; i < elements.length; i++) {
+      int index = first + i;
+      segmentFor(index).lazySet(offset(index), elements[i]);
+    }
+    return first;
+  }
+
+  /*
+   * Retrieves a published element.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  public T get(int index) {
+    if (index < 0 || (index >= this.watermark.get() && index >= size())) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return this.segments.get(segment(index)).get(offset(index));
+  }
+
+  /*
+   * Returns the number of published elements, moving the watermark past
+   * any slots written since it was last moved.
+   * @return The watermark.
+   */
+  public int size() {
+    int mark = this.watermark.get();
+    int limit = this.reserved.get();
+    int end = mark;
+    while (end < limit && peek(end) != null) {
+      end++;
+    }
+    while (end > mark) {
+      if (this.watermark.compareAndSet(mark, end)) {
+        return end;
+      }
+      mark = this.watermark.get();
+    }
+    return mark;
+  }
+
+  /*
+   * Checks if no element has been published yet.
+   * @return true if the array is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /*
+   * Returns the number of slots reserved by producers, including ones that
+   * are not yet written.
+   * @return The number of reserved slots.
+   */
+  public int reservedCount() {
+    return this.reserved.get();
+  }
+
+  /*
+   * Returns an iterator over the elements published when it is created.
+   * @return An iterator over the published elements.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new PublishedIterator(size());
+  }
+
+  /*
+   * Returns a spliterator over the elements published when it is created.
+   * @return A spliterator over the published elements.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    int fence = size();
+    return Spliterators.spliterator(new PublishedIterator(fence), fence,
+        Spliterator.ORDERED | Spliterator.NONNULL);
+  }
+
+  // Helper methods
+
+  /*
+   * Reserves count consecutive slots. The count only advances if the slots
+   * fit, so a failed reservation burns no slots.
+   * @param count The number of slots to reserve.
+   * @throws OutOfMemoryError if the slots do not fit.
+   * @return The index of the first reserved slot.
+   */
+  private int reserve(int count) {
+    while (true) {
+      int first = this.reserved.get();
+      if (first > MAX_CAPACITY - count) {
+        throw new OutOfMemoryError("Concurrent append array is full");
+      }
+      if (this.reserved.compareAndSet(first, first + count)) {
+        return first;
+      }
+    }
+  }
+
+  /*
+   * Returns the segment holding the given index, installing it if needed.
+   * @param index The index of the slot.
+   * @return The segment holding the slot.
+   */
+  private AtomicReferenceArray<T> segmentFor(int index) {
+    int k = segment(index);
+    AtomicReferenceArray<T> segment = this.segments.get(k);
+    if (segment == null) {
+      this.segments.compareAndSet(k, null,
+          new AtomicReferenceArray<>(FIRST_SEGMENT_SIZE << k));
+      segment = this.segments.get(k);
+    }
+    return segment;
+  }
+
+  /*
+   * Reads a slot without installing its segment.
+   * @param index The index of the slot.
+   * @return The element in the slot, or null if it is not written yet.
+   */
+  private T peek(int index) {
+    AtomicReferenceArray<T> segment = this.segments.get(segment(index));
+    return segment == null ? null : segment.get(offset(index));
+  }
+
+  /*
+   * Returns the number of the segment holding the given index.
+   * @param index The index of the slot.
+   * @return The segment number.
+   */
+  private static int segment(int index) {
+    return 31 - Integer.numberOfLeadingZeros(index + FIRST_SEGMENT_SIZE)
+        - FIRST_SEGMENT_BITS;
+  }
+
+  /*
+   * Returns the position of the given index within its segment.
+   * @param index The index of the slot.
+   * @return The offset within the segment.
+   */
+  private static int offset(int index) {
+    int biased = index + FIRST_SEGMENT_SIZE;
+    return biased - Integer.highestOneBit(biased);
+  }
+
+  // Iterator classes
+
+  /*
+   * An iterator over the elements below a fixed watermark.
+   */
+  private class PublishedIterator implements Iterator<T> {
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private int cursor;
+
+    /*
+     * The watermark when the iterator was created.
+     */
+    private final int fence;
+
+    /*
+     * Constructs an iterator over the elements below the given watermark.
+     * @param fence The watermark.
+     */
+    PublishedIterator(int fence) {
+      this.cursor = 0;
+      this.fence = fence;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < this.fence;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      if (this.cursor >= this.fence) {
+        throw new NoSuchElementException();
+      }
+      int index = this.cursor++;
+      return segments.get(segment(index)).get(offset(index));
+    }
+  }
+}
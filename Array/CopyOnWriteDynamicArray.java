@@ -0,0 +1,889 @@
+package Array;
+
+import Sort.InsertionSort;
+import Sort.MergeSort;
+import Sort.QuickSort;
+import Sort.SelectionSort;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/*
+ * A thread-safe dynamic array for data that is read far more often than it
+ * is written.
+ *
+ * The elements live in an exactly sized array behind a volatile reference,
+ * and that array is never modified once published. Readers take no locks:
+ * every read dereferences the current array once and sees a consistent
+ * state. Every write copies the array, changes the copy and publishes it
+ * with a single volatile write, so writers are serialized on a lock and pay
+ * O(n) per call. To apply several changes with one copy and have readers
+ * see all of them at once, pass them to update as a batch.
+ *
+ * Iterators, spliterators and snapshot() all work on the array that was
+ * current when they were created. They never throw
+ * ConcurrentModificationException, and their iterators do not support
+ * remove.
+ */
+public class CopyOnWriteDynamicArray<T extends Comparable<T>>
+implements DynamicArrayInterface<T> {
+
+  // Instance variables
+
+  /*
+   * The current array of elements. Never modified after it is published.
+   */
+  private volatile T[] data;
+
+  /*
+   * The lock serializing writers.
+   */
+  private final Object lock;
+
+  // Constructors
+
+  /*
+   * Constructs a new, empty copy-on-write dynamic array.
+   */
+  @SuppressWarnings("unchecked")
+  public CopyOnWriteDynamicArray() {
+    this.lock = new Object();
+    this.data = (T[]) new Comparable[0];
+  }
+
+  /*
+   * Constructs a new copy-on-write dynamic array holding the given elements.
+   * @param elements The initial elements, in order.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @SuppressWarnings("unchecked")
+  public CopyOnWriteDynamicArray(T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    checkElements(elements);
+    T[] copy = (T[]) new Comparable[elements.length];
+    System.arraycopy(elements, 0, copy, 0, elements.length);
+    this.lock = new Object();
+    this.data = copy;
+  }
+
+  // Methods
+
+  /*
+   * Applies a batch of changes and publishes the result at once. The batch
+   * works on a private DynamicArray copy of the elements; readers keep
+   * seeing the old elements until it returns, then see all of its changes
+   * together. If the batch throws, nothing is published.
+   * @param batch The changes to be applied.
+   * @throws IllegalArgumentException if batch is null.
+   */
+  public void update(Consumer<? super DynamicArray<T>> batch) {
+    if (batch == null) {
+      throw new IllegalArgumentException("Batch cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      DynamicArray<T> working = new DynamicArray<>(current.length);
+      working.addAll(current);
+      batch.accept(working);
+      this.data = working.toArray();
+    }
+  }
+
+  /*
+   * Returns an immutable view of the elements as they are now. Later writes
+   * to the array do not show in the view.
+   * @return A snapshot of the elements.
+   */
+  public Snapshot<T> snapshot() {
+    return new Snapshot<>(this.data);
+  }
+
+  /*
+   * Adds an element to the front of the array.
+   * @param element The element to be added to the front of the array.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addFront(T element) {
+    add(0, element);
+  }
+
+  /*
+   * Adds an element to the back of the array.
+   * @param element The element to be added to the back of the array.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addBack(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      T[] copy = Arrays.copyOf(current, current.length + 1);
+      copy[current.length] = element;
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the array, the element should be added to the back of the array.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void add(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      if (index < 0 || index > current.length) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      T[] copy = newArray(current.length + 1);
+      System.arraycopy(current, 0, copy, 0, index);
+      copy[index] = element;
+      System.arraycopy(current, index, copy, index + 1,
+          current.length - index);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Adds all elements of the given array to the back of the array, in order.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    synchronized (this.lock) {
+      addAll(this.data.length, elements);
+    }
+  }
+
+  /*
+   * Adds all elements of the given array at the specified index, in order.
+   * If the index is equal to the size of the array, the elements should be
+   * added to the back of the array.
+   * @param index The index at which the first element should be added.
+   * @param elements The elements to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(int index, T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    checkElements(elements);
+    synchronized (this.lock) {
+      T[] current = this.data;
+      if (index < 0 || index > current.length) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      T[] copy = newArray(current.length + elements.length);
+      System.arraycopy(current, 0, copy, 0, index);
+      System.arraycopy(elements, 0, copy, index, elements.length);
+      System.arraycopy(current, index, copy, index + elements.length,
+          current.length - index);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Adds all elements of the given dynamic array to the back of the array,
+   * in order.
+   * @param elements The dynamic array whose elements should be added.
+   * @throws IllegalArgumentException if elements is null.
+   */
+  @Override
+  public void addAll(DynamicArrayInterface<T> elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    addAll(elements.toArray());
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    T[] current = this.data;
+    if (index < 0 || index >= current.length) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return current[index];
+  }
+
+  /*
+   * Replaces an element at the specified index.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be replaced at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @return The element that was replaced.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      if (index < 0 || index >= current.length) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      T oldElement = current[index];
+      T[] copy = current.clone();
+      copy[index] = element;
+      this.data = copy;
+      return oldElement;
+    }
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    return firstIndexOf(this.data, element);
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    return lastIndexOf(this.data, element);
+  }
+
+  /*
+   * Checks if the array contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the array contains the given element, false otherwise.
+   */
+  @Override
+  public boolean contains(T element) {
+    return firstIndexOf(element) != -1;
+  }
+
+  /*
+   * Removes the element at the front of the array.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeFront() {
+    synchronized (this.lock) {
+      if (this.data.length == 0) {
+        return null;
+      }
+      return remove(0);
+    }
+  }
+
+  /*
+   * Removes the element at the back of the array.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeBack() {
+    synchronized (this.lock) {
+      if (this.data.length == 0) {
+        return null;
+      }
+      return remove(this.data.length - 1);
+    }
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  @Override
+  public T remove(int index) {
+    synchronized (this.lock) {
+      T[] current = this.data;
+      if (index < 0 || index >= current.length) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      T removedElement = current[index];
+      this.data = without(current, index, index + 1);
+      return removedElement;
+    }
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeFirst(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      int index = firstIndexOf(current, element);
+      if (index == -1) {
+        return false;
+      }
+      this.data = without(current, index, index + 1);
+      return true;
+    }
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeLast(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      int index = lastIndexOf(current, element);
+      if (index == -1) {
+        return false;
+      }
+      this.data = without(current, index, index + 1);
+      return true;
+    }
+  }
+
+  /*
+   * Removes the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The index of the first element to be removed.
+   * @param toIndex The index after the last element to be removed.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    synchronized (this.lock) {
+      T[] current = this.data;
+      if (fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      if (fromIndex != toIndex) {
+        this.data = without(current, fromIndex, toIndex);
+      }
+    }
+  }
+
+  /*
+   * Removes all elements that satisfy the given predicate. The predicate is
+   * evaluated for every element before anything is published, so the array
+   * is left unchanged if it throws.
+   * @param filter The predicate that returns true for elements to be removed.
+   * @throws IllegalArgumentException if filter is null.
+   * @return true if any element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeIf(Predicate<? super T> filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null");
+    }
+    synchronized (this.lock) {
+      T[] current = this.data;
+      T[] kept = newArray(current.length);
+      int count = 0;
+      for (T element : current) {
+        if (!filter.test(element)) {
+          kept[count++] = element;
+        }
+      }
+      if (count == current.length) {
+        return false;
+      }
+      this.data = Arrays.copyOf(kept, count);
+      return true;
+    }
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  @Override
+  public int size() {
+    return this.data.length;
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return this.data.length == 0;
+  }
+
+  /*
+   * Removes all elements from the array.
+   */
+  @Override
+  public void clear() {
+    synchronized (this.lock) {
+      this.data = newArray(0);
+    }
+  }
+
+  /*
+   * Does nothing: the published array always has exactly as many slots as
+   * there are elements, and every write allocates a new one.
+   * @param minCapacity The number of elements the array must be able to hold.
+   */
+  @Override
+  public void ensureCapacity(int minCapacity) {
+  }
+
+  /*
+   * Does nothing: the published array is always exactly sized.
+   */
+  @Override
+  public void trimToSize() {
+  }
+
+  /*
+   * Sorts a copy of the elements in ascending order using merge sort and
+   * publishes it. The sort is stable.
+   */
+  @Override
+  public void mergeSort() {
+    synchronized (this.lock) {
+      T[] copy = this.data.clone();
+      new MergeSort<T>().sort(copy, 0, copy.length);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Sorts a copy of the elements in ascending order using quick sort and
+   * publishes it.
+   */
+  @Override
+  public void quickSort() {
+    synchronized (this.lock) {
+      T[] copy = this.data.clone();
+      new QuickSort<T>().sort(copy, 0, copy.length);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Sorts a copy of the elements in ascending order using insertion sort
+   * and publishes it.
+   */
+  @Override
+  public void insertionSort() {
+    synchronized (this.lock) {
+      T[] copy = this.data.clone();
+      new InsertionSort<T>().sort(copy, 0, copy.length);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Sorts a copy of the elements in ascending order using selection sort
+   * and publishes it.
+   */
+  @Override
+  public void selectionSort() {
+    synchronized (this.lock) {
+      T[] copy = this.data.clone();
+      new SelectionSort<T>().sort(copy, 0, copy.length);
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Publishes a reversed copy of the elements.
+   */
+  @Override
+  public void reverse() {
+    synchronized (this.lock) {
+      T[] current = this.data;
+      T[] copy = newArray(current.length);
+      for (int i = 0; i < current.length; i++) {
+        copy[i] = current[current.length - 1 - i];
+      }
+      this.data = copy;
+    }
+  }
+
+  /*
+   * Returns an iterator over the elements as they are now, from front to
+   * back. It never throws ConcurrentModificationException and does not
+   * support remove.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new SnapshotIterator<>(this.data);
+  }
+
+  /*
+   * Returns a spliterator over the elements as they are now. It reports
+   * IMMUTABLE in addition to SIZED, SUBSIZED, ORDERED and NONNULL.
+   * @return A spliterator over the elements in the array.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return Spliterators.spliterator(this.data, Spliterator.ORDERED
+        | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+  }
+
+  /*
+   * Returns an array representation of the elements in the array.
+   * @return An array containing the elements in the array.
+   */
+  @Override
+  public T[] toArray() {
+    return this.data.clone();
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An array containing the elements in the specified range.
+   */
+  @Override
+  public T[] toSubArray(int fromIndex, int toIndex) {
+    T[] current = this.data;
+    if (fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return Arrays.copyOfRange(current, fromIndex, toIndex);
+  }
+
+  /*
+   * Returns a read-only view of the elements from the given fromIndex
+   * (inclusive) to the given toIndex (exclusive) of the currently published
+   * array. The published array is never modified, so the view copies
+   * nothing and is never invalidated; it does not see later updates.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    T[] current = this.data;
+    if (fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new SnapshotSlice<>(current, fromIndex, toIndex - fromIndex);
+  }
+
+  // Helper methods
+
+  /*
+   * Creates a new array of elements.
+   * @param length The length of the array.
+   * @return The new array.
+   */
+  @SuppressWarnings("unchecked")
+  private T[] newArray(int length) {
+    return (T[]) new Comparable[length];
+  }
+
+  /*
+   * Returns a copy of the array without the range [fromIndex, toIndex).
+   * @param array The array to be copied.
+   * @param fromIndex The index of the first element to be left out.
+   * @param toIndex The index after the last element to be left out.
+   * @return The copy.
+   */
+  private T[] without(T[] array, int fromIndex, int toIndex) {
+    T[] copy = newArray(array.length - (toIndex - fromIndex));
+    System.arraycopy(array, 0, copy, 0, fromIndex);
+    System.arraycopy(array, toIndex, copy, fromIndex, array.length - toIndex);
+    return copy;
+  }
+
+  /*
+   * Finds the first index of the element in the array.
+   * @param array The array to be searched.
+   * @param element The element to be found.
+   * @return The index, or -1 if not found.
+   */
+  private static <T> int firstIndexOf(T[] array, T element) {
+    for (int i = 0; i < array.length; i++) {
+      if (array[i].equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the last index of the element in the array.
+   * @param array The array to be searched.
+   * @param element The element to be found.
+   * @return The index, or -1 if not found.
+   */
+  private static <T> int lastIndexOf(T[] array, T element) {
+    for (int i = array.length - 1; i >= 0; i--) {
+      if (array[i].equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks that none of the elements is null.
+   * @param elements The elements to be checked.
+   * @throws IllegalArgumentException if any element is null.
+   */
+  private static <T> void checkElements(T[] elements) {
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+  }
+
+  // Snapshot classes
+
+  /*
+   * An immutable view of the elements of a copy-on-write dynamic array at
+   * one point in time.
+   */
+  public static final class Snapshot<T extends Comparable<T>>
+  implements Iterable<T> {
+
+    /*
+     * The published array the snapshot was taken from. Never modified.
+     */
+    private final T[] data;
+
+    /*
+     * Constructs a snapshot of the given published array.
+     * @param data The published array.
+     */
+    Snapshot(T[] data) {
+      this.data = data;
+    }
+
+    /*
+     * Retrieves an element at the specified index.
+     * @param index The index at which the element should be retrieved.
+     * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+     * @return The element that was retrieved.
+     */
+    public T get(int index) {
+      if (index < 0 || index >= this.data.length) {
+        throw new IndexOutOfBoundsException("Index out of bounds");
+      }
+      return this.data[index];
+    }
+
+    /*
+     * Returns the number of elements in the snapshot.
+     * @return The number of elements in the snapshot.
+     */
+    public int size() {
+      return this.data.length;
+    }
+
+    /*
+     * Checks if the snapshot is empty.
+     * @return true if the snapshot is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+      return this.data.length == 0;
+    }
+
+    /*
+     * Returns an iterator over the elements of the snapshot. It does not
+     * support remove.
+     * @return An iterator over the elements of the snapshot.
+     */
+    @Override
+    public Iterator<T> iterator() {
+      return new SnapshotIterator<>(this.data);
+    }
+
+    /*
+     * Returns a spliterator over the elements of the snapshot.
+     * @return A spliterator over the elements of the snapshot.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+      return Spliterators.spliterator(this.data, Spliterator.ORDERED
+          | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /*
+     * Returns an array containing the elements of the snapshot.
+     * @return A copy of the elements of the snapshot.
+     */
+    public T[] toArray() {
+      return this.data.clone();
+    }
+  }
+
+  /*
+   * A read-only iterator over a published array.
+   */
+  private static final class SnapshotIterator<T> implements Iterator<T> {
+
+    /*
+     * The array being iterated.
+     */
+    private final T[] data;
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private int cursor;
+
+    /*
+     * Constructs an iterator over the given array.
+     * @param data The array to be iterated.
+     */
+    SnapshotIterator(T[] data) {
+      this.data = data;
+      this.cursor = 0;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < this.data.length;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      if (this.cursor >= this.data.length) {
+        throw new NoSuchElementException();
+      }
+      return this.data[this.cursor++];
+    }
+  }
+
+  /*
+   * A read-only view of a range of a published array.
+   */
+  private static final class SnapshotSlice<T extends Comparable<T>>
+  extends AbstractSlice<T> {
+
+    /*
+     * The published array. Never modified.
+     */
+    private final T[] data;
+
+    /*
+     * The index in the array of the first element of the slice.
+     */
+    private final int offset;
+
+    /*
+     * Constructs a view of a range of the given published array.
+     * @param data The published array.
+     * @param offset The index of the first element.
+     * @param length The number of elements.
+     */
+    SnapshotSlice(T[] data, int offset, int length) {
+      super(length);
+      this.data = data;
+      this.offset = offset;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return this.data[this.offset + index];
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      return new SnapshotSlice<>(this.data, this.offset + fromIndex,
+          toIndex - fromIndex);
+    }
+
+    /*
+     * Does nothing, since the published array never changes.
+     */
+    @Override
+    protected void checkForComodification() {}
+
+    /*
+     * Returns a copy of the elements in the slice.
+     * @return An array containing the elements in the slice.
+     */
+    @Override
+    public T[] toArray() {
+      return Arrays.copyOfRange(this.data, this.offset,
+          this.offset + size());
+    }
+  }
+}
@@ -1,7 +1,28 @@
 package Array;
 
+import Sort.MergeSort;
+import Sort.ParallelMergeSort;
+import Sort.QuickSort;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /*
  * A dynamic array implementation.
+ *
+ * The array can optionally keep a hash index from each element to its
+ * positions, so firstIndexOf, lastIndexOf and contains run in expected
+ * constant time. Appending, removing from the back and set keep the index
+ * up to date directly. Anything that shifts elements only marks it stale:
+ * lookups then scan linearly as usual, and once the scans have cost about
+ * as much as a rebuild, the next lookup rebuilds the index. The index
+ * relies on the elements' hashCode being consistent with equals.
  */
 public class DynamicArray<T extends Comparable<T>> 
 implements DynamicArrayInterface<T> {
@@ -24,20 +45,100 @@ implements DynamicArrayInterface<T> {
   private T[] data;
 
   /*
-   * The initial capacity of the array.
+   * The number of structural modifications made to the array. Iterators and
+   * spliterators compare it against the value they started with to fail
+   * fast on concurrent modification.
+   */
+  private int modCount;
+
+  /*
+   * The hash index from each element to its positions, or null if the array
+   * is not indexed.
+   */
+  private HashMap<T, Positions> index;
+
+  /*
+   * Whether positions have shifted since the index was last rebuilt.
+   */
+  private boolean indexStale;
+
+  /*
+   * The number of elements linear scans have examined since the index went
+   * stale.
+   */
+  private long staleScanCost;
+
+  /*
+   * The merge sort used by mergeSort, kept so its scratch buffer is reused
+   * across calls. Created on first use.
+   */
+  private MergeSort<T> mergeSorter;
+
+  /*
+   * The capacity the array starts with and returns to when cleared.
+   */
+  private final int initialCapacity;
+
+  /*
+   * The policy deciding when and by how much the array grows and shrinks.
+   */
+  private final GrowthPolicy growthPolicy;
+
+  /*
+   * The default initial capacity of the array.
    */
   private static final int INITIAL_CAPACITY = 32;
 
-  // Constructor
+  // Constructors
 
   /*
-   * Constructs a new dynamic array.
+   * Constructs a new dynamic array with the default growth policy.
    */
-  @SuppressWarnings("unchecked")
   public DynamicArray() {
+    this(INITIAL_CAPACITY, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new dynamic array with the given initial capacity and the
+   * default growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @throws IllegalArgumentException if initialCapacity < 0.
+   */
+  public DynamicArray(int initialCapacity) {
+    this(initialCapacity, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new dynamic array with the given growth policy.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if growthPolicy is null.
+   */
+  public DynamicArray(GrowthPolicy growthPolicy) {
+    this(INITIAL_CAPACITY, growthPolicy);
+  }
+
+  /*
+   * Constructs a new dynamic array with the given initial capacity and
+   * growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if initialCapacity < 0 or growthPolicy
+   *         is null.
+   */
+  @SuppressWarnings("unchecked")
+  public DynamicArray(int initialCapacity, GrowthPolicy growthPolicy) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
     this.size = 0;
-    this.capacity = INITIAL_CAPACITY;
-    this.data = (T[]) new Comparable[INITIAL_CAPACITY];
+    this.modCount = 0;
+    this.capacity = initialCapacity;
+    this.initialCapacity = initialCapacity;
+    this.growthPolicy = growthPolicy;
+    this.data = (T[]) new Comparable[initialCapacity];
   }
 
   // Methods
@@ -55,9 +156,11 @@ implements DynamicArrayInterface<T> {
     if (isFull()) {
       upsize();
     }
-    System.arraycopy(this.data, 0, this.data, 1, this.size);
+    this.modCount++;
+    shift(0, 1, this.size);
     this.data[0] = element;
     this.size++;
+    invalidateIndex();
   }
 
   /*
@@ -73,7 +176,9 @@ implements DynamicArrayInterface<T> {
     if (isFull()) {
       upsize();
     }
+    this.modCount++;
     this.data[this.size++] = element;
+    indexAppended(this.size - 1);
   }
 
   /*
@@ -85,7 +190,7 @@ implements DynamicArrayInterface<T> {
    * @throws IllegalArgumentException if element is null.
    */
   @Override
-  public void add(T element) {
+  public void add(int index, T element) {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
@@ -95,9 +200,76 @@ implements DynamicArrayInterface<T> {
     if (isFull()) {
       upsize();
     }
-    System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+    this.modCount++;
+    shift(index, index + 1, this.size - index);
     this.data[index] = element;
     this.size++;
+    indexInserted(index, 1);
+  }
+
+  /*
+   * Adds all elements of the given array to the back of the array, in order.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(T[] elements) {
+    addAll(this.size, elements);
+  }
+
+  /*
+   * Adds all elements of the given array at the specified index, in order.
+   * If the index is equal to the size of the array, the elements should be
+   * added to the back of the array.
+   * @param index The index at which the first element should be added.
+   * @param elements The elements to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(int index, T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+    this.modCount++;
+    openGap(index, elements.length);
+    System.arraycopy(elements, 0, this.data, index, elements.length);
+    this.size += elements.length;
+    indexInserted(index, elements.length);
+  }
+
+  /*
+   * Adds all elements of the given dynamic array to the back of the array,
+   * in order.
+   * @param elements The dynamic array whose elements should be added.
+   * @throws IllegalArgumentException if elements is null.
+   */
+  @Override
+  public void addAll(DynamicArrayInterface<T> elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    if (!(elements instanceof DynamicArray)) {
+      addAll(this.size, elements.toArray());
+      return;
+    }
+    this.modCount++;
+    DynamicArray<T> other = (DynamicArray<T>) elements;
+    int count = other.size;
+    openGap(this.size, count);
+    System.arraycopy(other.data, 0, this.data, this.size, count);
+    this.size += count;
+    indexInserted(this.size - count, count);
   }
 
   /*
@@ -131,6 +303,10 @@ implements DynamicArrayInterface<T> {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
     T oldElement = this.data[index];
+    if (this.index != null && !this.indexStale) {
+      indexRemove(oldElement, index);
+      indexAdd(element, index);
+    }
     this.data[index] = element;
     return oldElement;
   }
@@ -147,11 +323,17 @@ implements DynamicArrayInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
+    if (useIndex()) {
+      Positions positions = this.index.get(element);
+      return positions == null ? -1 : positions.first();
+    }
     for (int i = 0; i < this.size; i++) {
       if (this.data[i].equals(element)) {
+        chargeScan(i + 1);
         return i;
       }
     }
+    chargeScan(this.size);
     return -1;
   }
 
@@ -167,11 +349,17 @@ implements DynamicArrayInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
+    if (useIndex()) {
+      Positions positions = this.index.get(element);
+      return positions == null ? -1 : positions.last();
+    }
     for (int i = this.size - 1; i >= 0; i--) {
       if (this.data[i].equals(element)) {
+        chargeScan(this.size - i);
         return i;
       }
     }
+    chargeScan(this.size);
     return -1;
   }
 
@@ -198,10 +386,13 @@ implements DynamicArrayInterface<T> {
     if (isEmpty()) {
       return null;
     }
+    this.modCount++;
     T removedElement = this.data[0];
-    System.arraycopy(this.data, 1, this.data, 0, this.size - 1);
+    shift(1, 0, this.size - 1);
     this.size--;
-    if (isHalfFull() && this.capacity > INITIAL_CAPACITY) {
+    this.data[this.size] = null;
+    invalidateIndex();
+    if (isSparse()) {
       downsize();
     }
     return removedElement;
@@ -216,8 +407,13 @@ implements DynamicArrayInterface<T> {
     if (isEmpty()) {
       return null;
     }
+    this.modCount++;
     T removedElement = this.data[--this.size];
-    if (isHalfFull() && this.capacity > INITIAL_CAPACITY) {
+    this.data[this.size] = null;
+    if (this.index != null && !this.indexStale) {
+      indexRemove(removedElement, this.size);
+    }
+    if (isSparse()) {
       downsize();
     }
     return removedElement;
@@ -234,11 +430,19 @@ implements DynamicArrayInterface<T> {
     if (!checkIndexExclusive(index)) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
+    this.modCount++;
     T removedElement = this.data[index];
-    System.arraycopy(this.data, index + 1, this.data, index, 
-        this.size - index - 1);
+    shift(index + 1, index, this.size - index - 1);
     this.size--;
-    if (isHalfFull() && this.capacity > INITIAL_CAPACITY) {
+    this.data[this.size] = null;
+    if (index == this.size) {
+      if (this.index != null && !this.indexStale) {
+        indexRemove(removedElement, index);
+      }
+    } else {
+      invalidateIndex();
+    }
+    if (isSparse()) {
       downsize();
     }
     return removedElement;
@@ -282,6 +486,67 @@ implements DynamicArrayInterface<T> {
     return true;
   }
 
+  /*
+   * Removes the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The index of the first element to be removed.
+   * @param toIndex The index after the last element to be removed.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    if (toIndex < this.size) {
+      invalidateIndex();
+    }
+    shift(toIndex, fromIndex, this.size - toIndex);
+    truncate(this.size - (toIndex - fromIndex));
+  }
+
+  /*
+   * Removes all elements that satisfy the given predicate. The predicate is
+   * evaluated for every element before anything is moved, so the array is
+   * left unchanged if it throws.
+   * @param filter The predicate that returns true for elements to be removed.
+   * @throws IllegalArgumentException if filter is null.
+   * @return true if any element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeIf(Predicate<? super T> filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null");
+    }
+    int first = 0;
+    while (first < this.size && !filter.test(this.data[first])) {
+      first++;
+    }
+    if (first == this.size) {
+      return false;
+    }
+    long[] removed = new long[((this.size - first - 1) >> 6) + 1];
+    removed[0] = 1L;
+    for (int i = first + 1; i < this.size; i++) {
+      if (filter.test(this.data[i])) {
+        removed[(i - first) >> 6] |= 1L << (i - first);
+      }
+    }
+    int kept = first;
+    for (int i = first + 1; i < this.size; i++) {
+      if ((removed[(i - first) >> 6] & (1L << (i - first))) == 0) {
+        this.data[kept++] = this.data[i];
+      }
+    }
+    invalidateIndex();
+    truncate(kept);
+    return true;
+  }
+
   /*
    * Returns the number of elements in the array.
    * @return The number of elements in the array.
@@ -306,28 +571,141 @@ implements DynamicArrayInterface<T> {
   @Override
   @SuppressWarnings("unchecked")
   public void clear() {
+    this.modCount++;
     this.size = 0;
-    this.capacity = INITIAL_CAPACITY;
-    this.data = (T[]) new Comparable[INITIAL_CAPACITY];
+    this.capacity = this.initialCapacity;
+    this.data = (T[]) new Comparable[this.initialCapacity];
+    if (this.index != null) {
+      this.index.clear();
+      this.indexStale = false;
+    }
+  }
+
+  /*
+   * Grows the array, if necessary, so that it can hold at least the given
+   * number of elements without resizing again.
+   * @param minCapacity The number of elements the array must be able to hold.
+   */
+  @Override
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > this.capacity) {
+      resize(this.growthPolicy.grow(this.capacity, minCapacity));
+    }
+  }
+
+  /*
+   * Shrinks the capacity of the array to its current size.
+   */
+  @Override
+  public void trimToSize() {
+    if (this.capacity > this.size) {
+      resize(this.size);
+    }
   }
 
   /*
    * Sorts the elements in the array in ascending order using merge sort.
+   * The sort is stable and adaptive: runs that are already in order are
+   * detected and merged rather than sorted again.
    */
   @Override
-  public void mergeSort() {}
+  public void mergeSort() {
+    this.modCount++;
+    invalidateIndex();
+    if (this.mergeSorter == null) {
+      this.mergeSorter = new MergeSort<>();
+    }
+    ArraySortEvent event = new ArraySortEvent();
+    event.begin();
+    // Count comparisons only when the event can be recorded.
+    boolean counting = event.isEnabled();
+    this.mergeSorter.setCounting(counting);
+    long comparisons = this.mergeSorter.getComparisons();
+    this.mergeSorter.sort(this.data, 0, this.size);
+    recordSort(event, "merge", this.size, counting
+        ? this.mergeSorter.getComparisons() - comparisons : -1);
+  }
 
   /*
    * Sorts the elements in the array in ascending order using quick sort.
+   * The sort is an introsort: dual-pivot partitioning, insertion sort for
+   * small partitions and heap sort once recursion gets too deep, so it stays
+   * O(n log n) on sorted and adversarial input. It is not stable.
    */
   @Override
-  public void quickSort() {}
+  public void quickSort() {
+    this.modCount++;
+    invalidateIndex();
+    ArraySortEvent event = new ArraySortEvent();
+    event.begin();
+    QuickSort<T> sorter = new QuickSort<>();
+    boolean counting = event.isEnabled();
+    sorter.setCounting(counting);
+    sorter.sort(this.data, 0, this.size);
+    recordSort(event, "quick", this.size,
+        counting ? sorter.getComparisons() : -1);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using a parallel
+   * merge sort in the common fork/join pool. The sort is stable.
+   */
+  public void parallelSort() {
+    parallelSort(0, this.size);
+  }
+
+  /*
+   * Sorts the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive) in ascending order using a parallel merge sort in
+   * the common fork/join pool. The sort is stable.
+   * @param fromIndex The index of the first element to be sorted.
+   * @param toIndex The index after the last element to be sorted.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   */
+  public void parallelSort(int fromIndex, int toIndex) {
+    parallelSort(fromIndex, toIndex, ForkJoinPool.commonPool(),
+        ParallelMergeSort.DEFAULT_THRESHOLD);
+  }
+
+  /*
+   * Sorts the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive) in ascending order using a parallel merge sort in
+   * the given fork/join pool. Ranges no longer than the threshold are
+   * sorted sequentially. The sort is stable.
+   * @param fromIndex The index of the first element to be sorted.
+   * @param toIndex The index after the last element to be sorted.
+   * @param pool The pool the sort tasks run in.
+   * @param threshold The length at or below which ranges are sorted and
+   *        merged sequentially.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws IllegalArgumentException if pool is null or threshold < 1.
+   */
+  public void parallelSort(int fromIndex, int toIndex, ForkJoinPool pool,
+      int threshold) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    this.modCount++;
+    invalidateIndex();
+    ArraySortEvent event = new ArraySortEvent();
+    event.begin();
+    new ParallelMergeSort<T>(pool, threshold).sort(this.data, fromIndex,
+        toIndex);
+    recordSort(event, "parallel merge", toIndex - fromIndex, -1);
+  }
 
   /*
    * Sorts the elements in the array in ascending order using insertion sort.
    */
   @Override
   public void insertionSort() {
+    this.modCount++;
+    invalidateIndex();
+    ArraySortEvent event = new ArraySortEvent();
+    event.begin();
+    long comparisons = 0;
     for (int i = 1; i < this.size; i++) {
       T key = this.data[i];
       int j = i - 1;
@@ -336,7 +714,11 @@ implements DynamicArrayInterface<T> {
         j--;
       }
       this.data[j + 1] = key;
+      // One comparison per element moved, plus the one that stopped the
+      // scan unless it ran off the front.
+      comparisons += j < 0 ? i : i - j;
     }
+    recordSort(event, "insertion", this.size, comparisons);
   }
 
   /*
@@ -344,6 +726,10 @@ implements DynamicArrayInterface<T> {
    */
   @Override
   public void selectionSort() {
+    this.modCount++;
+    invalidateIndex();
+    ArraySortEvent event = new ArraySortEvent();
+    event.begin();
     for (int i = 0; i < this.size - 1; i++) {
       int minIndex = i;
       for (int j = i + 1; j < this.size; j++) {
@@ -357,6 +743,9 @@ implements DynamicArrayInterface<T> {
         this.data[minIndex] = temp;
       }
     }
+    // Selection sort always makes n(n - 1) / 2 comparisons.
+    recordSort(event, "selection", this.size,
+        (long) this.size * (this.size - 1) / 2);
   }
 
   /*
@@ -364,6 +753,8 @@ implements DynamicArrayInterface<T> {
    */
   @Override
   public void reverse() {
+    this.modCount++;
+    invalidateIndex();
     for (int i = 0; i < this.size / 2; i++) {
       T temp = this.data[i];
       this.data[i] = this.data[this.size - 1 - i];
@@ -371,6 +762,73 @@ implements DynamicArrayInterface<T> {
     }
   }
 
+  /*
+   * Turns on the hash index, building it from the current elements. Does
+   * nothing if the array is already indexed.
+   */
+  public void enableIndex() {
+    if (this.index == null) {
+      rebuildIndex();
+    }
+  }
+
+  /*
+   * Turns off the hash index and releases it.
+   */
+  public void disableIndex() {
+    this.index = null;
+    this.indexStale = false;
+    this.staleScanCost = 0;
+  }
+
+  /*
+   * Checks if the array keeps a hash index.
+   * @return true if the array is indexed, false otherwise.
+   */
+  public boolean isIndexed() {
+    return this.index != null;
+  }
+
+  /*
+   * Returns an iterator over the elements in the array, from front to back.
+   * The iterator is fail-fast: it throws ConcurrentModificationException
+   * if the array is structurally modified other than through the iterator.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new ArrayIterator(0, this.size);
+  }
+
+  /*
+   * Returns an iterator over the elements from the given fromIndex
+   * (inclusive) to the given toIndex (exclusive), without copying them.
+   * The iterator is fail-fast like the one returned by iterator().
+   * @param fromIndex The index of the first element to be returned.
+   * @param toIndex The index after the last element to be returned.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An iterator over the elements in the specified range.
+   */
+  public Iterator<T> iterator(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new ArrayIterator(fromIndex, toIndex);
+  }
+
+  /*
+   * Returns a spliterator over the elements in the array. It splits its
+   * range of the backing array evenly in halves and reports SIZED,
+   * SUBSIZED, ORDERED and NONNULL. It binds to the array when first used
+   * and fails fast if the array is structurally modified after that.
+   * @return A spliterator over the elements in the array.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return new ArraySpliterator(0, -1, 0);
+  }
+
   /*
    * Returns an array representation of the elements in the array.
    * @return An array containing the elements in the array.
@@ -403,6 +861,26 @@ implements DynamicArrayInterface<T> {
     System.arraycopy(this.data, fromIndex, subArray, 0, subArraySize);
     return subArray;
   }
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view reads and writes the backing
+   * array directly and copies nothing. Any structural modification of the
+   * array invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new ArraySlice(fromIndex, toIndex - fromIndex, this.modCount);
+  }
+
   
   // Helper methods
 
@@ -415,11 +893,11 @@ implements DynamicArrayInterface<T> {
   }
 
   /*
-   * Checks if the array is half full.
-   * @return true if the array is half full, false otherwise.
+   * Checks if the array is sparse enough to shrink under its growth policy.
+   * @return true if the array should shrink, false otherwise.
    */
-  private boolean isHalfFull() {
-    return this.size == this.capacity / 2;
+  private boolean isSparse() {
+    return this.growthPolicy.shouldShrink(this.size, this.capacity);
   }
 
   /*
@@ -441,26 +919,655 @@ implements DynamicArrayInterface<T> {
   }
 
   /*
-   * Doubles the capacity of the array.
+   * Makes room for count elements at the given index by shifting the tail
+   * of the array. If the array has to grow, the head and the tail are copied
+   * straight into their final positions in the new backing array, so every
+   * element moves at most once.
+   * @param index The index at which the room should be made.
+   * @param count The number of elements to make room for.
    */
   @SuppressWarnings("unchecked")
+  private void openGap(int index, int count) {
+    if (count == 0) {
+      return;
+    }
+    if (count > this.capacity - this.size) {
+      ArrayResizeEvent event = new ArrayResizeEvent();
+      event.begin();
+      int oldCapacity = this.capacity;
+      int newCapacity = this.growthPolicy.grow(this.capacity,
+          this.size + count);
+      T[] newData = (T[]) new Comparable[newCapacity];
+      System.arraycopy(this.data, 0, newData, 0, index);
+      System.arraycopy(this.data, index, newData, index + count,
+          this.size - index);
+      this.data = newData;
+      this.capacity = newCapacity;
+      recordResize(event, oldCapacity);
+    } else {
+      shift(index, index + count, this.size - index);
+    }
+  }
+
+  /*
+   * Drops every element from the given size onwards, clearing the freed
+   * slots so they do not keep garbage alive, and shrinks the array if the
+   * growth policy asks for it.
+   * @param newSize The number of elements to keep.
+   */
+  private void truncate(int newSize) {
+    this.modCount++;
+    if (this.index != null && !this.indexStale) {
+      for (int i = this.size - 1; i >= newSize; i--) {
+        indexRemove(this.data[i], i);
+      }
+    }
+    Arrays.fill(this.data, newSize, this.size, null);
+    this.size = newSize;
+    if (isSparse()) {
+      downsize();
+    }
+  }
+
+  /*
+   * Grows the capacity of the array according to its growth policy.
+   */
   private void upsize() {
-    this.capacity *= 2;
-    T[] newData = (T[]) new Comparable[this.capacity];
-    System.arraycopy(this.data, 0, newData, 0, this.size);
-    this.data = newData;
+    resize(this.growthPolicy.grow(this.capacity, this.size + 1));
   }
 
   /*
-   * Halves the capacity of the array.
+   * Shrinks the capacity of the array according to its growth policy, as
+   * far as the policy allows, with a single copy.
    */
-  @SuppressWarnings("unchecked")
   private void downsize() {
-    this.capacity /= 2;
-    T[] newData = (T[]) new Comparable[this.capacity];
+    int newCapacity = this.growthPolicy.shrink(this.size, this.capacity);
+    while (this.growthPolicy.shouldShrink(this.size, newCapacity)) {
+      int shrunk = this.growthPolicy.shrink(this.size, newCapacity);
+      if (shrunk == newCapacity) {
+        break;
+      }
+      newCapacity = shrunk;
+    }
+    resize(newCapacity);
+  }
+
+  /*
+   * Moves the elements into a new backing array of the given capacity.
+   * @param newCapacity The capacity of the new backing array.
+   */
+  @SuppressWarnings("unchecked")
+  private void resize(int newCapacity) {
+    ArrayResizeEvent event = new ArrayResizeEvent();
+    event.begin();
+    int oldCapacity = this.capacity;
+    T[] newData = (T[]) new Comparable[newCapacity];
     System.arraycopy(this.data, 0, newData, 0, this.size);
     this.data = newData;
+    this.capacity = newCapacity;
+    recordResize(event, oldCapacity);
   }
 
-}
+  /*
+   * Commits a resize event if it is enabled and over its threshold. Called
+   * once the elements are in the new backing array.
+   * @param event The event, begun before the new backing array was
+   *        allocated.
+   * @param oldCapacity The capacity before the resize.
+   */
+  private void recordResize(ArrayResizeEvent event, int oldCapacity) {
+    if (event.shouldCommit()) {
+      event.arrayClass = getClass();
+      event.oldCapacity = oldCapacity;
+      event.newCapacity = this.capacity;
+      event.elementsCopied = this.size;
+      event.bytesCopied = (long) this.size * ArrayResizeEvent.REFERENCE_SIZE;
+      event.commit();
+    }
+  }
+
+  /*
+   * Moves a run of elements within the backing array. Runs of at least
+   * ArrayShiftEvent.THRESHOLD elements are recorded as shift events when
+   * those are enabled.
+   * @param sourceIndex The index of the first element to be moved.
+   * @param destinationIndex The index the first element is moved to.
+   * @param length The number of elements to be moved.
+   */
+  private void shift(int sourceIndex, int destinationIndex, int length) {
+    if (length < ArrayShiftEvent.THRESHOLD) {
+      System.arraycopy(this.data, sourceIndex, this.data, destinationIndex,
+          length);
+      return;
+    }
+    ArrayShiftEvent event = new ArrayShiftEvent();
+    event.begin();
+    System.arraycopy(this.data, sourceIndex, this.data, destinationIndex,
+        length);
+    if (event.shouldCommit()) {
+      event.arrayClass = getClass();
+      event.sourceIndex = sourceIndex;
+      event.destinationIndex = destinationIndex;
+      event.elementsMoved = length;
+      event.bytesMoved = (long) length * ArrayResizeEvent.REFERENCE_SIZE;
+      event.commit();
+    }
+  }
+
+  /*
+   * Commits a sort event if it is enabled and over its threshold. Called
+   * once the sort has finished.
+   * @param event The event, begun before the sort started.
+   * @param algorithm The name of the sort algorithm.
+   * @param size The number of elements sorted.
+   * @param comparisons The number of comparisons made, or -1 if they were
+   *        not counted.
+   */
+  private void recordSort(ArraySortEvent event, String algorithm, int size,
+      long comparisons) {
+    if (event.shouldCommit()) {
+      event.arrayClass = getClass();
+      event.algorithm = algorithm;
+      event.size = size;
+      event.comparisons = comparisons;
+      event.commit();
+    }
+  }
+
+  /*
+   * Checks if lookups should use the index, rebuilding a stale index once
+   * linear scans have cost as much as a rebuild would.
+   * @return true if the index is present and up to date, false otherwise.
+   */
+  private boolean useIndex() {
+    if (this.index == null) {
+      return false;
+    }
+    if (this.indexStale && this.staleScanCost >= this.size) {
+      rebuildIndex();
+    }
+    return !this.indexStale;
+  }
+
+  /*
+   * Records the cost of a linear scan made while the index is stale.
+   * @param examined The number of elements the scan examined.
+   */
+  private void chargeScan(int examined) {
+    if (this.index != null) {
+      this.staleScanCost += examined;
+    }
+  }
+
+  /*
+   * Rebuilds the index from the current elements.
+   */
+  private void rebuildIndex() {
+    this.index = new HashMap<>(Math.max(16, (int) (this.size / 0.75f) + 1));
+    for (int i = 0; i < this.size; i++) {
+      indexAdd(this.data[i], i);
+    }
+    this.indexStale = false;
+    this.staleScanCost = 0;
+  }
+
+  /*
+   * Marks the index stale because positions have shifted.
+   */
+  private void invalidateIndex() {
+    if (this.index != null && !this.indexStale) {
+      this.indexStale = true;
+      this.staleScanCost = 0;
+    }
+  }
+
+  /*
+   * Updates the index after count elements were inserted at the given
+   * index. Insertions at the back are added to the index; anything else
+   * shifts positions and marks it stale.
+   * @param from The index of the first inserted element.
+   * @param count The number of inserted elements.
+   */
+  private void indexInserted(int from, int count) {
+    if (from + count != this.size) {
+      invalidateIndex();
+      return;
+    }
+    for (int i = from; i < this.size; i++) {
+      indexAppended(i);
+    }
+  }
+
+  /*
+   * Adds the element just appended at the given index to the index.
+   * @param position The index of the appended element.
+   */
+  private void indexAppended(int position) {
+    if (this.index != null && !this.indexStale) {
+      indexAdd(this.data[position], position);
+    }
+  }
+
+  /*
+   * Adds a position of an element to the index.
+   * @param element The element.
+   * @param position The index of the element.
+   */
+  private void indexAdd(T element, int position) {
+    Positions positions = this.index.get(element);
+    if (positions == null) {
+      this.index.put(element, new Positions(position));
+    } else {
+      positions.add(position);
+    }
+  }
+
+  /*
+   * Removes a position of an element from the index.
+   * @param element The element.
+   * @param position The index the element was at.
+   */
+  private void indexRemove(T element, int position) {
+    Positions positions = this.index.get(element);
+    if (positions.remove(position)) {
+      this.index.remove(element);
+    }
+  }
+
+  // Index classes
+
+  /*
+   * The positions of one element in the array, in ascending order. Adding
+   * or removing the last position takes constant time.
+   */
+  private static class Positions {
+
+    /*
+     * The positions, sorted, in the first count slots.
+     */
+    private int[] positions;
 
+    /*
+     * The number of positions.
+     */
+    private int count;
+
+    /*
+     * Constructs a list holding a single position.
+     * @param position The first position.
+     */
+    Positions(int position) {
+      this.positions = new int[] {position};
+      this.count = 1;
+    }
+
+    /*
+     * Returns the smallest position.
+     * @return The first position.
+     */
+    int first() {
+      return this.positions[0];
+    }
+
+    /*
+     * Returns the largest position.
+     * @return The last position.
+     */
+    int last() {
+      return this.positions[this.count - 1];
+    }
+
+    /*
+     * Adds a position, keeping the positions sorted.
+     * @param position The position to be added.
+     */
+    void add(int position) {
+      if (this.count == this.positions.length) {
+        this.positions = Arrays.copyOf(this.positions, this.count * 2);
+      }
+      int i = this.count;
+      if (this.positions[i - 1] > position) {
+        i = Arrays.binarySearch(this.positions, 0, this.count, position);
+        i = -(i + 1);
+        System.arraycopy(this.positions, i, this.positions, i + 1,
+            this.count - i);
+      }
+      this.positions[i] = position;
+      this.count++;
+    }
+
+    /*
+     * Removes a position.
+     * @param position The position to be removed.
+     * @return true if no positions are left, false otherwise.
+     */
+    boolean remove(int position) {
+      if (this.positions[this.count - 1] != position) {
+        int i = Arrays.binarySearch(this.positions, 0, this.count, position);
+        System.arraycopy(this.positions, i + 1, this.positions, i,
+            this.count - i - 1);
+      }
+      this.count--;
+      return this.count == 0;
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the array. Reads go straight to the backing array,
+   * and writes go through set so the hash index stays consistent.
+   */
+  private class ArraySlice extends AbstractSlice<T> {
+
+    /*
+     * The index in the array of the first element of the slice.
+     */
+    private final int offset;
+
+    /*
+     * The modCount of the array when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given index of the array.
+     * @param offset The index of the first element.
+     * @param length The number of elements.
+     * @param expectedModCount The modCount of the array.
+     */
+    ArraySlice(int offset, int length, int expectedModCount) {
+      super(length);
+      this.offset = offset;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return data[this.offset + index];
+    }
+
+    /*
+     * Writes the element at the given index of the slice through to the
+     * array.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      return DynamicArray.this.set(this.offset + index, element);
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      return new ArraySlice(this.offset + fromIndex, toIndex - fromIndex,
+          this.expectedModCount);
+    }
+
+    /*
+     * Throws if the array was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns a copy of the elements in the slice, made with one
+     * arraycopy.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return An array containing the elements in the slice.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] toArray() {
+      int length = size();
+      T[] array = (T[]) new Comparable[length];
+      System.arraycopy(data, this.offset, array, 0, length);
+      return array;
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the array.
+   */
+  private class ArrayIterator implements Iterator<T> {
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private int cursor;
+
+    /*
+     * The index after the last element to be returned.
+     */
+    private int fence;
+
+    /*
+     * The index of the element last returned, or -1 if there is none.
+     */
+    private int lastReturned;
+
+    /*
+     * The modification count the iterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs an iterator over the range [origin, fence).
+     * @param origin The index of the first element to be returned.
+     * @param fence The index after the last element to be returned.
+     */
+    ArrayIterator(int origin, int fence) {
+      this.cursor = origin;
+      this.fence = fence;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < this.fence;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      checkForComodification();
+      if (this.cursor >= this.fence) {
+        throw new NoSuchElementException();
+      }
+      this.lastReturned = this.cursor++;
+      return data[this.lastReturned];
+    }
+
+    /*
+     * Removes the element last returned by next.
+     * @throws IllegalStateException if next has not been called, or remove
+     *         has already been called after the last call to next.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void remove() {
+      if (this.lastReturned < 0) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      DynamicArray.this.remove(this.lastReturned);
+      this.cursor = this.lastReturned;
+      this.fence--;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Throws if the array was structurally modified behind the iterator.
+     */
+    private void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /*
+   * A spliterator over a range of the array that splits in halves.
+   */
+  private class ArraySpliterator implements Spliterator<T> {
+
+    /*
+     * The index of the next element to be traversed.
+     */
+    private int index;
+
+    /*
+     * The index after the last element to be traversed, or -1 until the
+     * spliterator is first used.
+     */
+    private int fence;
+
+    /*
+     * The modification count the spliterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs a spliterator over the range [origin, fence).
+     * @param origin The index of the first element to be traversed.
+     * @param fence The index after the last element, or -1 to bind to the
+     *        size of the array on first use.
+     * @param expectedModCount The modification count to expect.
+     */
+    ArraySpliterator(int origin, int fence, int expectedModCount) {
+      this.index = origin;
+      this.fence = fence;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Returns the end of the range, binding it to the current size of the
+     * array on first use.
+     * @return The index after the last element to be traversed.
+     */
+    private int getFence() {
+      if (this.fence < 0) {
+        this.expectedModCount = modCount;
+        this.fence = size;
+      }
+      return this.fence;
+    }
+
+    /*
+     * Splits off the first half of the remaining range.
+     * @return A spliterator over the first half, or null if the remaining
+     *         range is too small to split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+      int high = getFence();
+      int low = this.index;
+      int mid = (low + high) >>> 1;
+      if (low >= mid) {
+        return null;
+      }
+      this.index = mid;
+      return new ArraySpliterator(low, mid, this.expectedModCount);
+    }
+
+    /*
+     * Performs the action on the next element, if there is one.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return true if an element was traversed, false otherwise.
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      if (i >= high) {
+        return false;
+      }
+      this.index = i + 1;
+      action.accept(data[i]);
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      return true;
+    }
+
+    /*
+     * Performs the action on every remaining element.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      this.index = high;
+      T[] array = data;
+      for (; i < high; i++) {
+        action.accept(array[i]);
+      }
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns the number of elements left to traverse.
+     * @return The number of remaining elements.
+     */
+    @Override
+    public long estimateSize() {
+      return getFence() - this.index;
+    }
+
+    /*
+     * Returns the characteristics of the spliterator.
+     * @return ORDERED, SIZED, SUBSIZED and NONNULL.
+     */
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+          | Spliterator.NONNULL;
+    }
+  }
+
+}
@@ -1,9 +1,15 @@
 package Array;
 
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /*
- * An interface for a dynamic array data structure.
+ * An interface for a dynamic array data structure. Dynamic arrays can be
+ * iterated from front to back.
  */
-public interface DynamicArrayInterface<T extends Comparable<T>> {
+public interface DynamicArrayInterface<T extends Comparable<T>>
+extends Iterable<T> {
 
   /*
    * Adds an element to the front of the array.
@@ -29,6 +35,34 @@ public interface DynamicArrayInterface<T extends Comparable<T>> {
    */
   void add(int index, T element);
 
+  /*
+   * Adds all elements of the given array to the back of the array, in order.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  void addAll(T[] elements);
+
+  /*
+   * Adds all elements of the given array at the specified index, in order.
+   * If the index is equal to the size of the array, the elements should be
+   * added to the back of the array.
+   * @param index The index at which the first element should be added.
+   * @param elements The elements to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  void addAll(int index, T[] elements);
+
+  /*
+   * Adds all elements of the given dynamic array to the back of the array,
+   * in order.
+   * @param elements The dynamic array whose elements should be added.
+   * @throws IllegalArgumentException if elements is null.
+   */
+  void addAll(DynamicArrayInterface<T> elements);
+
   /*
    * Retrieves an element at the specified index.
    * @param index The index at which the element should be retrieved.
@@ -109,6 +143,24 @@ public interface DynamicArrayInterface<T extends Comparable<T>> {
    */
   boolean removeLast(T element);
 
+  /*
+   * Removes the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The index of the first element to be removed.
+   * @param toIndex The index after the last element to be removed.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   */
+  void removeRange(int fromIndex, int toIndex);
+
+  /*
+   * Removes all elements that satisfy the given predicate.
+   * @param filter The predicate that returns true for elements to be removed.
+   * @throws IllegalArgumentException if filter is null.
+   * @return true if any element was removed, false otherwise.
+   */
+  boolean removeIf(Predicate<? super T> filter);
+
   /*
    * Returns the number of elements in the array.
    * @return The number of elements in the array.
@@ -126,6 +178,18 @@ public interface DynamicArrayInterface<T extends Comparable<T>> {
    */
   void clear();
 
+  /*
+   * Grows the array, if necessary, so that it can hold at least the given
+   * number of elements without resizing again.
+   * @param minCapacity The number of elements the array must be able to hold.
+   */
+  void ensureCapacity(int minCapacity);
+
+  /*
+   * Shrinks the capacity of the array to its current size.
+   */
+  void trimToSize();
+
   /*
    * Sorts the elements in the array in ascending order using merge sort.
    */
@@ -167,4 +231,34 @@ public interface DynamicArrayInterface<T extends Comparable<T>> {
    * @return An array containing the elements in the specified range.
    */
   T[] toSubArray(int fromIndex, int toIndex);
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view reads and writes the array
+   * directly and copies nothing. Any structural modification of the array
+   * invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  Slice<T> slice(int fromIndex, int toIndex);
+
+  /*
+   * Returns a sequential stream over the elements in the array.
+   * @return A sequential stream over the elements in the array.
+   */
+  default Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /*
+   * Returns a parallel stream over the elements in the array. How well it
+   * parallelizes depends on how evenly the array's spliterator splits.
+   * @return A parallel stream over the elements in the array.
+   */
+  default Stream<T> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
 }
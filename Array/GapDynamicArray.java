@@ -0,0 +1,1144 @@
+package Array;
+
+import Sort.MergeSort;
+import Sort.QuickSort;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/*
+ * A dynamic array backed by a gap buffer. The free slots of the backing
+ * array form a single gap that sits where the last insert or removal
+ * happened. The elements before the gap are at indexes [0, gapStart) and
+ * the elements after it fill the slots from gapEnd to the end of the
+ * backing array.
+ *
+ * Inserting or removing at the gap is O(1). Anywhere else, the gap is moved
+ * there first, which copies only the elements between the old and the new
+ * position. Edits clustered around a moving cursor are therefore cheap, no
+ * matter how large the array is. get and set map the index around the gap
+ * and stay O(1).
+ */
+public class GapDynamicArray<T extends Comparable<T>>
+implements DynamicArrayInterface<T> {
+
+  // Instance variables
+
+  /*
+   * The array to store the elements, with the gap in the middle.
+   */
+  private T[] data;
+
+  /*
+   * The slot of the first free slot of the gap, which is also the number of
+   * elements before the gap.
+   */
+  private int gapStart;
+
+  /*
+   * The slot after the last free slot of the gap.
+   */
+  private int gapEnd;
+
+  /*
+   * The number of structural modifications made to the array. Iterators and
+   * spliterators compare it against the value they started with to fail
+   * fast on concurrent modification.
+   */
+  private int modCount;
+
+  /*
+   * The merge sort used by mergeSort, kept so its scratch buffer is reused
+   * across calls. Created on first use.
+   */
+  private MergeSort<T> mergeSorter;
+
+  /*
+   * The capacity the array starts with and returns to when cleared.
+   */
+  private final int initialCapacity;
+
+  /*
+   * The policy deciding when and by how much the array grows and shrinks.
+   */
+  private final GrowthPolicy growthPolicy;
+
+  /*
+   * The default initial capacity of the array.
+   */
+  private static final int INITIAL_CAPACITY = 32;
+
+  // Constructors
+
+  /*
+   * Constructs a new gap dynamic array with the default growth policy.
+   */
+  public GapDynamicArray() {
+    this(INITIAL_CAPACITY, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new gap dynamic array with the given initial capacity and
+   * the default growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @throws IllegalArgumentException if initialCapacity < 0.
+   */
+  public GapDynamicArray(int initialCapacity) {
+    this(initialCapacity, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new gap dynamic array with the given growth policy.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if growthPolicy is null.
+   */
+  public GapDynamicArray(GrowthPolicy growthPolicy) {
+    this(INITIAL_CAPACITY, growthPolicy);
+  }
+
+  /*
+   * Constructs a new gap dynamic array with the given initial capacity and
+   * growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if initialCapacity < 0 or growthPolicy
+   *         is null.
+   */
+  @SuppressWarnings("unchecked")
+  public GapDynamicArray(int initialCapacity, GrowthPolicy growthPolicy) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
+    this.modCount = 0;
+    this.gapStart = 0;
+    this.gapEnd = initialCapacity;
+    this.initialCapacity = initialCapacity;
+    this.growthPolicy = growthPolicy;
+    this.data = (T[]) new Comparable[initialCapacity];
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the front of the array.
+   * @param element The element to be added to the front of the array.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addFront(T element) {
+    add(0, element);
+  }
+
+  /*
+   * Adds an element to the back of the array.
+   * @param element The element to be added to the back of the array.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addBack(T element) {
+    add(size(), element);
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the array, the element should be added to the back of the array.
+   * Moves the gap to the index first.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void add(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    this.modCount++;
+    if (this.gapStart == this.gapEnd) {
+      resize(this.growthPolicy.grow(this.data.length, size() + 1), index);
+    } else {
+      moveGap(index);
+    }
+    this.data[this.gapStart++] = element;
+  }
+
+  /*
+   * Adds all elements of the given array to the back of the array, in order.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(T[] elements) {
+    addAll(size(), elements);
+  }
+
+  /*
+   * Adds all elements of the given array at the specified index, in order.
+   * If the index is equal to the size of the array, the elements should be
+   * added to the back of the array. The elements are copied into the gap
+   * with a single arraycopy.
+   * @param index The index at which the first element should be added.
+   * @param elements The elements to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  @Override
+  public void addAll(int index, T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+    if (elements.length == 0) {
+      return;
+    }
+    this.modCount++;
+    int required = size() + elements.length;
+    if (required > this.data.length) {
+      resize(this.growthPolicy.grow(this.data.length, required), index);
+    } else {
+      moveGap(index);
+    }
+    System.arraycopy(elements, 0, this.data, this.gapStart, elements.length);
+    this.gapStart += elements.length;
+  }
+
+  /*
+   * Adds all elements of the given dynamic array to the back of the array,
+   * in order.
+   * @param elements The dynamic array whose elements should be added.
+   * @throws IllegalArgumentException if elements is null.
+   */
+  @Override
+  public void addAll(DynamicArrayInterface<T> elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    addAll(size(), elements.toArray());
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return this.data[slot(index)];
+  }
+
+  /*
+   * Replaces an element at the specified index. The gap does not move.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be replaced at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @return The element that was replaced.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    int slot = slot(index);
+    T oldElement = this.data[slot];
+    this.data[slot] = element;
+    return oldElement;
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to find found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (int i = 0; i < this.gapStart; i++) {
+      if (this.data[i].equals(element)) {
+        return i;
+      }
+    }
+    for (int i = this.gapEnd; i < this.data.length; i++) {
+      if (this.data[i].equals(element)) {
+        return i - gapLength();
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (int i = this.data.length - 1; i >= this.gapEnd; i--) {
+      if (this.data[i].equals(element)) {
+        return i - gapLength();
+      }
+    }
+    for (int i = this.gapStart - 1; i >= 0; i--) {
+      if (this.data[i].equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the array contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the array contains the given element, false otherwise.
+   */
+  @Override
+  public boolean contains(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    return firstIndexOf(element) != -1;
+  }
+
+  /*
+   * Removes the element at the front of the array.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeFront() {
+    if (isEmpty()) {
+      return null;
+    }
+    return remove(0);
+  }
+
+  /*
+   * Removes the element at the back of the array.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeBack() {
+    if (isEmpty()) {
+      return null;
+    }
+    return remove(size() - 1);
+  }
+
+  /*
+   * Removes the element at the specified index. An element before the gap
+   * is removed by moving the gap to just after it and growing the gap
+   * backwards, like a backspace; any other by moving the gap to it and
+   * growing the gap forwards, like a delete. Either way only the elements
+   * between the old and the new gap position are copied.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  @Override
+  public T remove(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    this.modCount++;
+    T removedElement;
+    if (index < this.gapStart) {
+      moveGap(index + 1);
+      removedElement = this.data[--this.gapStart];
+      this.data[this.gapStart] = null;
+    } else {
+      moveGap(index);
+      removedElement = this.data[this.gapEnd];
+      this.data[this.gapEnd++] = null;
+    }
+    if (isSparse()) {
+      downsize();
+    }
+    return removedElement;
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeFirst(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = firstIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeLast(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = lastIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Removes the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive) by moving the gap to fromIndex and widening it over
+   * the range.
+   * @param fromIndex The index of the first element to be removed.
+   * @param toIndex The index after the last element to be removed.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    this.modCount++;
+    moveGap(fromIndex);
+    int newGapEnd = this.gapEnd + (toIndex - fromIndex);
+    Arrays.fill(this.data, this.gapEnd, newGapEnd, null);
+    this.gapEnd = newGapEnd;
+    if (isSparse()) {
+      downsize();
+    }
+  }
+
+  /*
+   * Removes all elements that satisfy the given predicate. The predicate is
+   * evaluated for every element before anything is moved, so the array is
+   * left unchanged if it throws. The gap is moved to the back and the
+   * survivors are compacted towards the front.
+   * @param filter The predicate that returns true for elements to be removed.
+   * @throws IllegalArgumentException if filter is null.
+   * @return true if any element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeIf(Predicate<? super T> filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null");
+    }
+    int size = size();
+    int first = 0;
+    while (first < size && !filter.test(this.data[slot(first)])) {
+      first++;
+    }
+    if (first == size) {
+      return false;
+    }
+    long[] removed = new long[((size - first - 1) >> 6) + 1];
+    removed[0] = 1L;
+    for (int i = first + 1; i < size; i++) {
+      if (filter.test(this.data[slot(i)])) {
+        removed[(i - first) >> 6] |= 1L << (i - first);
+      }
+    }
+    this.modCount++;
+    moveGap(size);
+    int kept = first;
+    for (int i = first + 1; i < size; i++) {
+      if ((removed[(i - first) >> 6] & (1L << (i - first))) == 0) {
+        this.data[kept++] = this.data[i];
+      }
+    }
+    Arrays.fill(this.data, kept, this.data.length, null);
+    this.gapStart = kept;
+    this.gapEnd = this.data.length;
+    if (isSparse()) {
+      downsize();
+    }
+    return true;
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  @Override
+  public int size() {
+    return this.data.length - gapLength();
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /*
+   * Removes all elements from the array.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void clear() {
+    this.modCount++;
+    this.gapStart = 0;
+    this.gapEnd = this.initialCapacity;
+    this.data = (T[]) new Comparable[this.initialCapacity];
+  }
+
+  /*
+   * Grows the array, if necessary, so that it can hold at least the given
+   * number of elements without resizing again. The gap stays where it is.
+   * @param minCapacity The number of elements the array must be able to hold.
+   */
+  @Override
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > this.data.length) {
+      resize(this.growthPolicy.grow(this.data.length, minCapacity),
+          this.gapStart);
+    }
+  }
+
+  /*
+   * Shrinks the capacity of the array to its current size, closing the gap.
+   */
+  @Override
+  public void trimToSize() {
+    if (this.gapStart != this.gapEnd) {
+      resize(size(), this.gapStart);
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using merge sort.
+   * The sort is stable and adaptive: runs that are already in order are
+   * detected and merged rather than sorted again.
+   */
+  @Override
+  public void mergeSort() {
+    this.modCount++;
+    moveGap(size());
+    if (this.mergeSorter == null) {
+      this.mergeSorter = new MergeSort<>();
+    }
+    this.mergeSorter.sort(this.data, 0, this.gapStart);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using quick sort.
+   * The sort is an introsort: dual-pivot partitioning, insertion sort for
+   * small partitions and heap sort once recursion gets too deep, so it stays
+   * O(n log n) on sorted and adversarial input. It is not stable.
+   */
+  @Override
+  public void quickSort() {
+    this.modCount++;
+    moveGap(size());
+    new QuickSort<T>().sort(this.data, 0, this.gapStart);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using insertion sort.
+   */
+  @Override
+  public void insertionSort() {
+    this.modCount++;
+    moveGap(size());
+    for (int i = 1; i < this.gapStart; i++) {
+      T key = this.data[i];
+      int j = i - 1;
+      while (j >= 0 && this.data[j].compareTo(key) > 0) {
+        this.data[j + 1] = this.data[j];
+        j--;
+      }
+      this.data[j + 1] = key;
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using selection sort.
+   */
+  @Override
+  public void selectionSort() {
+    this.modCount++;
+    moveGap(size());
+    for (int i = 0; i < this.gapStart - 1; i++) {
+      int minIndex = i;
+      for (int j = i + 1; j < this.gapStart; j++) {
+        if (this.data[j].compareTo(this.data[minIndex]) < 0) {
+          minIndex = j;
+        }
+      }
+      if (minIndex != i) {
+        T temp = this.data[i];
+        this.data[i] = this.data[minIndex];
+        this.data[minIndex] = temp;
+      }
+    }
+  }
+
+  /*
+   * Reverses the order of the elements in the array. The gap stays in
+   * place.
+   */
+  @Override
+  public void reverse() {
+    this.modCount++;
+    int size = size();
+    for (int i = 0; i < size / 2; i++) {
+      int left = slot(i);
+      int right = slot(size - 1 - i);
+      T temp = this.data[left];
+      this.data[left] = this.data[right];
+      this.data[right] = temp;
+    }
+  }
+
+  /*
+   * Returns an iterator over the elements in the array, from front to back.
+   * The iterator is fail-fast: it throws ConcurrentModificationException
+   * if the array is structurally modified other than through the iterator.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new ArrayIterator();
+  }
+
+  /*
+   * Returns a spliterator over the elements in the array. It splits its
+   * range of indexes evenly in halves and reports SIZED, SUBSIZED, ORDERED
+   * and NONNULL. It binds to the array when first used and fails fast if
+   * the array is structurally modified after that.
+   * @return A spliterator over the elements in the array.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return new ArraySpliterator(0, -1, 0);
+  }
+
+  /*
+   * Returns an array representation of the elements in the array.
+   * @return An array containing the elements in the array.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toArray() {
+    T[] array = (T[]) new Comparable[size()];
+    copyOut(0, array, 0, size());
+    return array;
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An array containing the elements in the specified range.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toSubArray(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T[] subArray = (T[]) new Comparable[toIndex - fromIndex];
+    copyOut(fromIndex, subArray, 0, toIndex - fromIndex);
+    return subArray;
+  }
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view reads and writes the backing
+   * array directly and copies nothing. Any structural modification of the
+   * array invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new ArraySlice(fromIndex, toIndex - fromIndex, this.modCount);
+  }
+
+  // Helper methods
+
+  /*
+   * Returns the number of free slots in the gap.
+   * @return The length of the gap.
+   */
+  private int gapLength() {
+    return this.gapEnd - this.gapStart;
+  }
+
+  /*
+   * Maps an index of the array to the slot of the backing array holding it.
+   * @param index The index, in the range [0, size).
+   * @return The slot holding the element at the index.
+   */
+  private int slot(int index) {
+    return index < this.gapStart ? index : index + gapLength();
+  }
+
+  /*
+   * Moves the gap so that it starts at the given index. Only the elements
+   * between the old and the new position are copied, with one arraycopy,
+   * and the slots they leave are cleared.
+   * @param index The index the gap should start at, in the range [0, size].
+   */
+  private void moveGap(int index) {
+    if (index < this.gapStart) {
+      int count = this.gapStart - index;
+      int newGapEnd = this.gapEnd - count;
+      System.arraycopy(this.data, index, this.data, newGapEnd, count);
+      Arrays.fill(this.data, index, Math.min(this.gapStart, newGapEnd), null);
+      this.gapStart = index;
+      this.gapEnd = newGapEnd;
+    } else if (index > this.gapStart) {
+      int count = index - this.gapStart;
+      System.arraycopy(this.data, this.gapEnd, this.data, this.gapStart,
+          count);
+      Arrays.fill(this.data, Math.max(index, this.gapEnd),
+          this.gapEnd + count, null);
+      this.gapStart = index;
+      this.gapEnd += count;
+    }
+  }
+
+  /*
+   * Copies elements of the array into another array, in at most two
+   * arraycopy calls, one for each side of the gap.
+   * @param fromIndex The index of the first element to be copied.
+   * @param dest The array to copy into.
+   * @param destPos The position in dest to copy the first element to.
+   * @param count The number of elements to be copied.
+   */
+  private void copyOut(int fromIndex, T[] dest, int destPos, int count) {
+    int before = Math.max(0, Math.min(count, this.gapStart - fromIndex));
+    System.arraycopy(this.data, fromIndex, dest, destPos, before);
+    System.arraycopy(this.data, slot(fromIndex + before), dest,
+        destPos + before, count - before);
+  }
+
+  /*
+   * Checks if the array is sparse enough to shrink under its growth policy.
+   * @return true if the array should shrink, false otherwise.
+   */
+  private boolean isSparse() {
+    return this.growthPolicy.shouldShrink(size(), this.data.length);
+  }
+
+  /*
+   * Checks if the index is in the range [0, size).
+   * @param index The index to check.
+   * @return true if the index is exclusive, false otherwise.
+   */
+  private boolean checkIndexExclusive(int index) {
+    return index >= 0 && index < size();
+  }
+
+  /*
+   * Checks if the index is in the range [0, size].
+   * @param index The index to check.
+   * @return true if the index is inclusive, false otherwise.
+   */
+  private boolean checkIndexInclusive(int index) {
+    return index >= 0 && index <= size();
+  }
+
+  /*
+   * Shrinks the capacity of the array according to its growth policy, as
+   * far as the policy allows, with a single copy. The gap stays where it
+   * is.
+   */
+  private void downsize() {
+    int size = size();
+    int newCapacity = this.growthPolicy.shrink(size, this.data.length);
+    while (this.growthPolicy.shouldShrink(size, newCapacity)) {
+      int shrunk = this.growthPolicy.shrink(size, newCapacity);
+      if (shrunk == newCapacity) {
+        break;
+      }
+      newCapacity = shrunk;
+    }
+    resize(newCapacity, this.gapStart);
+  }
+
+  /*
+   * Copies the elements into a new backing array of the given capacity,
+   * placing the gap at the given index. Moving the gap this way costs
+   * nothing extra, since every element is copied anyway.
+   * @param newCapacity The capacity of the new backing array.
+   * @param gapIndex The index the gap should start at.
+   */
+  @SuppressWarnings("unchecked")
+  private void resize(int newCapacity, int gapIndex) {
+    ArrayResizeEvent event = new ArrayResizeEvent();
+    event.begin();
+    int oldCapacity = this.data.length;
+    int size = size();
+    T[] newData = (T[]) new Comparable[newCapacity];
+    int after = size - gapIndex;
+    copyOut(0, newData, 0, gapIndex);
+    copyOut(gapIndex, newData, newCapacity - after, after);
+    this.data = newData;
+    this.gapStart = gapIndex;
+    this.gapEnd = newCapacity - after;
+    if (event.shouldCommit()) {
+      event.arrayClass = getClass();
+      event.oldCapacity = oldCapacity;
+      event.newCapacity = newCapacity;
+      event.elementsCopied = size;
+      event.bytesCopied = (long) size * ArrayResizeEvent.REFERENCE_SIZE;
+      event.commit();
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the array. Reads map the index around the gap,
+   * and writes go through set.
+   */
+  private class ArraySlice extends AbstractSlice<T> {
+
+    /*
+     * The index in the array of the first element of the slice.
+     */
+    private final int offset;
+
+    /*
+     * The modCount of the array when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given index of the array.
+     * @param offset The index of the first element.
+     * @param length The number of elements.
+     * @param expectedModCount The modCount of the array.
+     */
+    ArraySlice(int offset, int length, int expectedModCount) {
+      super(length);
+      this.offset = offset;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return data[slot(this.offset + index)];
+    }
+
+    /*
+     * Writes the element at the given index of the slice through to the
+     * array.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      return GapDynamicArray.this.set(this.offset + index, element);
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      return new ArraySlice(this.offset + fromIndex, toIndex - fromIndex,
+          this.expectedModCount);
+    }
+
+    /*
+     * Throws if the array was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the array.
+   */
+  private class ArrayIterator implements Iterator<T> {
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private int cursor;
+
+    /*
+     * The index of the element last returned, or -1 if there is none.
+     */
+    private int lastReturned;
+
+    /*
+     * The modification count the iterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs an iterator positioned before the first element.
+     */
+    ArrayIterator() {
+      this.cursor = 0;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < size();
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      checkForComodification();
+      if (this.cursor >= size()) {
+        throw new NoSuchElementException();
+      }
+      this.lastReturned = this.cursor++;
+      return data[slot(this.lastReturned)];
+    }
+
+    /*
+     * Removes the element last returned by next. The gap follows the
+     * iterator, so removing while iterating forwards is O(1) per element.
+     * @throws IllegalStateException if next has not been called, or remove
+     *         has already been called after the last call to next.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void remove() {
+      if (this.lastReturned < 0) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      GapDynamicArray.this.remove(this.lastReturned);
+      this.cursor = this.lastReturned;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Throws if the array was structurally modified behind the iterator.
+     */
+    private void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /*
+   * A spliterator over a range of the array that splits in halves.
+   */
+  private class ArraySpliterator implements Spliterator<T> {
+
+    /*
+     * The index of the next element to be traversed.
+     */
+    private int index;
+
+    /*
+     * The index after the last element to be traversed, or -1 until the
+     * spliterator is first used.
+     */
+    private int fence;
+
+    /*
+     * The modification count the spliterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs a spliterator over the range [origin, fence).
+     * @param origin The index of the first element to be traversed.
+     * @param fence The index after the last element, or -1 to bind to the
+     *        size of the array on first use.
+     * @param expectedModCount The modification count to expect.
+     */
+    ArraySpliterator(int origin, int fence, int expectedModCount) {
+      this.index = origin;
+      this.fence = fence;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Returns the end of the range, binding it to the current size of the
+     * array on first use.
+     * @return The index after the last element to be traversed.
+     */
+    private int getFence() {
+      if (this.fence < 0) {
+        this.expectedModCount = modCount;
+        this.fence = size();
+      }
+      return this.fence;
+    }
+
+    /*
+     * Splits off the first half of the remaining range.
+     * @return A spliterator over the first half, or null if the remaining
+     *         range is too small to split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+      int high = getFence();
+      int low = this.index;
+      int mid = (low + high) >>> 1;
+      if (low >= mid) {
+        return null;
+      }
+      this.index = mid;
+      return new ArraySpliterator(low, mid, this.expectedModCount);
+    }
+
+    /*
+     * Performs the action on the next element, if there is one.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return true if an element was traversed, false otherwise.
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      if (i >= high) {
+        return false;
+      }
+      this.index = i + 1;
+      action.accept(data[slot(i)]);
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      return true;
+    }
+
+    /*
+     * Performs the action on every remaining element.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      this.index = high;
+      for (; i < high; i++) {
+        action.accept(data[slot(i)]);
+      }
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns the number of elements left to traverse.
+     * @return The number of remaining elements.
+     */
+    @Override
+    public long estimateSize() {
+      return getFence() - this.index;
+    }
+
+    /*
+     * Returns the characteristics of the spliterator.
+     * @return ORDERED, SIZED, SUBSIZED and NONNULL.
+     */
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+          | Spliterator.NONNULL;
+    }
+  }
+
+}
@@ -0,0 +1,173 @@
+package Array;
+
+/*
+ * Decides how the dynamic arrays grow and shrink their backing storage.
+ *
+ * An array grows by the growth factor whenever it is full. It shrinks by the
+ * same factor once its fill ratio drops to the shrink threshold. Because the
+ * threshold has to be strictly below 1 / growthFactor, a shrunk array is
+ * never immediately full again, so pushing and popping around a capacity
+ * boundary does not reallocate on every operation. A shrink threshold of 0
+ * disables shrinking altogether.
+ *
+ * Policies are immutable and can be shared between arrays.
+ */
+public class GrowthPolicy {
+
+  // Instance variables
+
+  /*
+   * The factor by which the capacity is multiplied when the array grows.
+   */
+  private final double growthFactor;
+
+  /*
+   * The fill ratio (size / capacity) at or below which the array shrinks,
+   * or 0 if the array never shrinks.
+   */
+  private final double shrinkThreshold;
+
+  /*
+   * The capacity below which the array never shrinks.
+   */
+  private final int minimumCapacity;
+
+  /*
+   * The largest capacity a Java array can reliably be allocated with.
+   */
+  static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /*
+   * The policy used when none is given: double when full, halve when a
+   * quarter full, never shrink below 32 elements.
+   */
+  private static final GrowthPolicy DEFAULT = new GrowthPolicy(2.0, 0.25, 32);
+
+  // Constructor
+
+  /*
+   * Constructs a new growth policy.
+   * @param growthFactor The factor the capacity is multiplied by on growth.
+   * @param shrinkThreshold The fill ratio at or below which the array
+   *        shrinks, or 0 to never shrink.
+   * @param minimumCapacity The capacity below which the array never shrinks.
+   * @throws IllegalArgumentException if growthFactor <= 1, shrinkThreshold
+   *         < 0, shrinkThreshold >= 1 / growthFactor, or minimumCapacity < 0.
+   */
+  public GrowthPolicy(double growthFactor, double shrinkThreshold,
+      int minimumCapacity) {
+    if (!(growthFactor > 1.0)) {
+      throw new IllegalArgumentException("Growth factor must be greater than 1");
+    }
+    if (!(shrinkThreshold >= 0.0) || shrinkThreshold >= 1.0 / growthFactor) {
+      throw new IllegalArgumentException(
+          "Shrink threshold must be in the range [0, 1 / growthFactor)");
+    }
+    if (minimumCapacity < 0) {
+      throw new IllegalArgumentException("Minimum capacity cannot be negative");
+    }
+    this.growthFactor = growthFactor;
+    this.shrinkThreshold = shrinkThreshold;
+    this.minimumCapacity = minimumCapacity;
+  }
+
+  // Methods
+
+  /*
+   * Returns the default policy: double when full, halve when a quarter full,
+   * never shrink below 32 elements.
+   * @return The default growth policy.
+   */
+  public static GrowthPolicy defaultPolicy() {
+    return DEFAULT;
+  }
+
+  /*
+   * Returns a policy that grows by the given factor and never shrinks.
+   * @param growthFactor The factor the capacity is multiplied by on growth.
+   * @param minimumCapacity The smallest capacity the array grows to.
+   * @throws IllegalArgumentException if growthFactor <= 1 or
+   *         minimumCapacity < 0.
+   * @return A policy that never shrinks.
+   */
+  public static GrowthPolicy noShrink(double growthFactor, int minimumCapacity) {
+    return new GrowthPolicy(growthFactor, 0.0, minimumCapacity);
+  }
+
+  /*
+   * Returns the factor the capacity is multiplied by on growth.
+   * @return The growth factor.
+   */
+  public double getGrowthFactor() {
+    return this.growthFactor;
+  }
+
+  /*
+   * Returns the fill ratio at or below which the array shrinks.
+   * @return The shrink threshold, or 0 if the array never shrinks.
+   */
+  public double getShrinkThreshold() {
+    return this.shrinkThreshold;
+  }
+
+  /*
+   * Returns the capacity below which the array never shrinks.
+   * @return The minimum capacity.
+   */
+  public int getMinimumCapacity() {
+    return this.minimumCapacity;
+  }
+
+  /*
+   * Checks if arrays using this policy ever shrink.
+   * @return true if shrinking is enabled, false otherwise.
+   */
+  public boolean isShrinkEnabled() {
+    return this.shrinkThreshold > 0.0;
+  }
+
+  /*
+   * Computes the capacity to grow to so that at least the required number
+   * of elements fit.
+   * @param capacity The current capacity.
+   * @param required The number of elements that must fit.
+   * @throws OutOfMemoryError if required exceeds the maximum array capacity.
+   * @return The new capacity, at least required.
+   */
+  public int grow(int capacity, int required) {
+    if (required < 0 || required > MAX_CAPACITY) {
+      throw new OutOfMemoryError("Required capacity exceeds maximum array size");
+    }
+    long grown = (long) (capacity * this.growthFactor);
+    if (grown <= capacity) {
+      grown = (long) capacity + 1;
+    }
+    grown = Math.min(grown, MAX_CAPACITY);
+    return (int) Math.max(Math.max(grown, required), this.minimumCapacity);
+  }
+
+  /*
+   * Checks if an array with the given size and capacity should shrink.
+   * @param size The current number of elements.
+   * @param capacity The current capacity.
+   * @return true if the array should shrink, false otherwise.
+   */
+  public boolean shouldShrink(int size, int capacity) {
+    return this.shrinkThreshold > 0.0 && capacity > this.minimumCapacity
+        && size <= capacity * this.shrinkThreshold;
+  }
+
+  /*
+   * Computes the capacity to shrink to. The result always leaves room for
+   * at least one more element.
+   * @param size The current number of elements.
+   * @param capacity The current capacity.
+   * @return The new capacity.
+   */
+  public int shrink(int size, int capacity) {
+    int shrunk = Math.max((int) (capacity / this.growthFactor),
+        this.minimumCapacity);
+    return Math.min(Math.max(shrunk, size + 1), capacity);
+  }
+
+}
@@ -0,0 +1,546 @@
+package Array;
+
+import Search.PrimitiveSearch;
+import java.util.Arrays;
+
+/*
+ * A dynamic array of primitive ints. Mirrors the operations of
+ * DynamicArrayInterface but stores the elements in an int[] so that no
+ * element is ever boxed.
+ */
+public class IntDynamicArray {
+
+  // Instance variables
+
+  /*
+   * The current number of elements in the array.
+   */
+  private int size;
+
+  /*
+   * The current capacity of the array.
+   */
+  private int capacity;
+
+  /*
+   * The array to store the elements.
+   */
+  private int[] data;
+
+  /*
+   * The capacity the array starts with and returns to when cleared.
+   */
+  private final int initialCapacity;
+
+  /*
+   * The policy deciding when and by how much the array grows and shrinks.
+   */
+  private final GrowthPolicy growthPolicy;
+
+  /*
+   * The default initial capacity of the array.
+   */
+  private static final int INITIAL_CAPACITY = 32;
+
+  // Constructors
+
+  /*
+   * Constructs a new dynamic array with the default growth policy.
+   */
+  public IntDynamicArray() {
+    this(INITIAL_CAPACITY, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new dynamic array with the given initial capacity and the
+   * default growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @throws IllegalArgumentException if initialCapacity < 0.
+   */
+  public IntDynamicArray(int initialCapacity) {
+    this(initialCapacity, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new dynamic array with the given growth policy.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if growthPolicy is null.
+   */
+  public IntDynamicArray(GrowthPolicy growthPolicy) {
+    this(INITIAL_CAPACITY, growthPolicy);
+  }
+
+  /*
+   * Constructs a new dynamic array with the given initial capacity and
+   * growth policy.
+   * @param initialCapacity The initial capacity of the array.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if initialCapacity < 0 or growthPolicy
+   *         is null.
+   */
+  public IntDynamicArray(int initialCapacity, GrowthPolicy growthPolicy) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
+    this.size = 0;
+    this.capacity = initialCapacity;
+    this.initialCapacity = initialCapacity;
+    this.growthPolicy = growthPolicy;
+    this.data = new int[initialCapacity];
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the front of the array.
+   * @param element The element to be added to the front of the array.
+   */
+  public void addFront(int element) {
+    if (isFull()) {
+      upsize();
+    }
+    System.arraycopy(this.data, 0, this.data, 1, this.size);
+    this.data[0] = element;
+    this.size++;
+  }
+
+  /*
+   * Adds an element to the back of the array.
+   * @param element The element to be added to the back of the array.
+   */
+  public void addBack(int element) {
+    if (isFull()) {
+      upsize();
+    }
+    this.data[this.size++] = element;
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the array, the element should be added to the back of the array.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   */
+  public void add(int index, int element) {
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (isFull()) {
+      upsize();
+    }
+    System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+    this.data[index] = element;
+    this.size++;
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  public int get(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return this.data[index];
+  }
+
+  /*
+   * Replaces an element at the specified index.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be replaced at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was replaced.
+   */
+  public int set(int index, int element) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    int oldElement = this.data[index];
+    this.data[index] = element;
+    return oldElement;
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to be found.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  public int firstIndexOf(int element) {
+    return PrimitiveSearch.indexOf(this.data, 0, this.size, element);
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  public int lastIndexOf(int element) {
+    return PrimitiveSearch.lastIndexOf(this.data, 0, this.size, element);
+  }
+
+  /*
+   * Checks if the array contains the given element.
+   * @param element The element to be checked.
+   * @return true if the array contains the given element, false otherwise.
+   */
+  public boolean contains(int element) {
+    return firstIndexOf(element) != -1;
+  }
+
+  /*
+   * Counts the occurrences of the given element.
+   * @param element The element to be counted.
+   * @return The number of occurrences of the given element.
+   */
+  public int count(int element) {
+    return PrimitiveSearch.count(this.data, 0, this.size, element);
+  }
+
+  /*
+   * Returns the smallest element in the array.
+   * @throws IllegalStateException if the array is empty.
+   * @return The smallest element.
+   */
+  public int min() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Array is empty");
+    }
+    return PrimitiveSearch.min(this.data, 0, this.size);
+  }
+
+  /*
+   * Returns the largest element in the array.
+   * @throws IllegalStateException if the array is empty.
+   * @return The largest element.
+   */
+  public int max() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Array is empty");
+    }
+    return PrimitiveSearch.max(this.data, 0, this.size);
+  }
+
+  /*
+   * Returns the sum of the elements in the array, or 0 if it is empty.
+   * The sum is kept in a long, so it does not overflow.
+   * @return The sum of the elements.
+   */
+  public long sum() {
+    return PrimitiveSearch.sum(this.data, 0, this.size);
+  }
+
+  /*
+   * Removes the element at the front of the array.
+   * @throws IllegalStateException if the array is empty.
+   * @return The element that was removed.
+   */
+  public int removeFront() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Array is empty");
+    }
+    int removedElement = this.data[0];
+    System.arraycopy(this.data, 1, this.data, 0, this.size - 1);
+    this.size--;
+    if (isSparse()) {
+      downsize();
+    }
+    return removedElement;
+  }
+
+  /*
+   * Removes the element at the back of the array.
+   * @throws IllegalStateException if the array is empty.
+   * @return The element that was removed.
+   */
+  public int removeBack() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Array is empty");
+    }
+    int removedElement = this.data[--this.size];
+    if (isSparse()) {
+      downsize();
+    }
+    return removedElement;
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  public int remove(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    int removedElement = this.data[index];
+    System.arraycopy(this.data, index + 1, this.data, index,
+        this.size - index - 1);
+    this.size--;
+    if (isSparse()) {
+      downsize();
+    }
+    return removedElement;
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @return true if the element was removed, false otherwise.
+   */
+  public boolean removeFirst(int element) {
+    int index = firstIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @return true if the element was removed, false otherwise.
+   */
+  public boolean removeLast(int element) {
+    int index = lastIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /*
+   * Removes all elements from the array.
+   */
+  public void clear() {
+    this.size = 0;
+    this.capacity = this.initialCapacity;
+    this.data = new int[this.initialCapacity];
+  }
+
+  /*
+   * Grows the array, if necessary, so that it can hold at least the given
+   * number of elements without resizing again.
+   * @param minCapacity The number of elements the array must be able to hold.
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > this.capacity) {
+      resize(this.growthPolicy.grow(this.capacity, minCapacity));
+    }
+  }
+
+  /*
+   * Shrinks the capacity of the array to its current size.
+   */
+  public void trimToSize() {
+    if (this.capacity > this.size) {
+      resize(this.size);
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using merge sort.
+   */
+  public void mergeSort() {
+    if (this.size < 2) {
+      return;
+    }
+    int[] buffer = new int[this.size];
+    int[] from = this.data;
+    int[] to = buffer;
+    for (int width = 1; width < this.size; width *= 2) {
+      for (int low = 0; low < this.size; low += 2 * width) {
+        int mid = Math.min(low + width, this.size);
+        int high = Math.min(low + 2 * width, this.size);
+        int i = low;
+        int j = mid;
+        int k = low;
+        while (i < mid && j < high) {
+          to[k++] = from[i] <= from[j] ? from[i++] : from[j++];
+        }
+        while (i < mid) {
+          to[k++] = from[i++];
+        }
+        while (j < high) {
+          to[k++] = from[j++];
+        }
+      }
+      int[] temp = from;
+      from = to;
+      to = temp;
+    }
+    if (from != this.data) {
+      System.arraycopy(from, 0, this.data, 0, this.size);
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using quick sort.
+   * Delegates to the JDK's dual-pivot quick sort for primitives.
+   */
+  public void quickSort() {
+    Arrays.sort(this.data, 0, this.size);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using insertion sort.
+   */
+  public void insertionSort() {
+    for (int i = 1; i < this.size; i++) {
+      int key = this.data[i];
+      int j = i - 1;
+      while (j >= 0 && this.data[j] > key) {
+        this.data[j + 1] = this.data[j];
+        j--;
+      }
+      this.data[j + 1] = key;
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using selection sort.
+   */
+  public void selectionSort() {
+    for (int i = 0; i < this.size - 1; i++) {
+      int minIndex = i;
+      for (int j = i + 1; j < this.size; j++) {
+        if (this.data[j] < this.data[minIndex]) {
+          minIndex = j;
+        }
+      }
+      if (minIndex != i) {
+        int temp = this.data[i];
+        this.data[i] = this.data[minIndex];
+        this.data[minIndex] = temp;
+      }
+    }
+  }
+
+  /*
+   * Reverses the order of the elements in the array.
+   */
+  public void reverse() {
+    for (int i = 0; i < this.size / 2; i++) {
+      int temp = this.data[i];
+      this.data[i] = this.data[this.size - 1 - i];
+      this.data[this.size - 1 - i] = temp;
+    }
+  }
+
+  /*
+   * Returns an array representation of the elements in the array.
+   * @return An array containing the elements in the array.
+   */
+  public int[] toArray() {
+    int[] array = new int[this.size];
+    System.arraycopy(this.data, 0, array, 0, this.size);
+    return array;
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An array containing the elements in the specified range.
+   */
+  public int[] toSubArray(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    int subArraySize = toIndex - fromIndex;
+    int[] subArray = new int[subArraySize];
+    System.arraycopy(this.data, fromIndex, subArray, 0, subArraySize);
+    return subArray;
+  }
+
+  // Helper methods
+
+  /*
+   * Checks if the array is full.
+   * @return true if the array is full, false otherwise.
+   */
+  private boolean isFull() {
+    return this.size == this.capacity;
+  }
+
+  /*
+   * Checks if the array is sparse enough to shrink under its growth policy.
+   * @return true if the array should shrink, false otherwise.
+   */
+  private boolean isSparse() {
+    return this.growthPolicy.shouldShrink(this.size, this.capacity);
+  }
+
+  /*
+   * Checks if the index is in the range [0, size).
+   * @param index The index to check.
+   * @return true if the index is exclusive, false otherwise.
+   */
+  private boolean checkIndexExclusive(int index) {
+    return index >= 0 && index < this.size;
+  }
+
+  /*
+   * Checks if the index is in the range [0, size].
+   * @param index The index to check.
+   * @return true if the index is inclusive, false otherwise.
+   */
+  private boolean checkIndexInclusive(int index) {
+    return index >= 0 && index <= this.size;
+  }
+
+  /*
+   * Grows the capacity of the array according to its growth policy.
+   */
+  private void upsize() {
+    resize(this.growthPolicy.grow(this.capacity, this.size + 1));
+  }
+
+  /*
+   * Shrinks the capacity of the array according to its growth policy.
+   */
+  private void downsize() {
+    resize(this.growthPolicy.shrink(this.size, this.capacity));
+  }
+
+  /*
+   * Moves the elements into a new backing array of the given capacity.
+   * @param newCapacity The capacity of the new backing array.
+   */
+  private void resize(int newCapacity) {
+    int[] newData = new int[newCapacity];
+    System.arraycopy(this.data, 0, newData, 0, this.size);
+    this.data = newData;
+    this.capacity = newCapacity;
+  }
+
+}
@@ -0,0 +1,329 @@
+package Array;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * An off-heap dynamic array persisted in a memory-mapped file.
+ *
+ * The file starts with a fixed header followed by the elements as packed
+ * fixed-width records:
+ *
+ *   offset  0  int   magic number 0x44594E41 ("DYNA")
+ *   offset  4  int   format version
+ *   offset  8  int   record width in bytes
+ *   offset 12  int   reserved, 0
+ *   offset 16  long  size, the number of elements
+ *   offset 24  long  capacity, the number of record slots in the file
+ *   offset 32        the records
+ *
+ * All values are big-endian. Opening an existing file only reads the header
+ * and maps the file, so it takes constant time; the operating system pages
+ * records in as they are first touched. The file grows in whole extents of
+ * at least a megabyte, so appending remaps it only rarely.
+ *
+ * Writes go to the mapping and reach the file whenever the operating system
+ * flushes them. force() is the checkpoint: it writes the current size and
+ * capacity to the header and flushes everything, so after it returns the
+ * file holds exactly the current contents. After a crash, the file reopens
+ * with the size of the last checkpoint. close() checkpoints as well.
+ *
+ * The array does not lock the file; only one array should have it open at
+ * a time.
+ */
+public class MappedDynamicArray<T extends Comparable<T>>
+extends OffHeapDynamicArray<T> {
+
+  // Instance variables
+
+  /*
+   * The channel of the backing file.
+   */
+  private final FileChannel channel;
+
+  /*
+   * The current mapping of the whole file, header included.
+   */
+  private MappedByteBuffer mapping;
+
+  /*
+   * The magic number identifying the file format.
+   */
+  private static final int MAGIC = 0x44594E41;
+
+  /*
+   * The version of the file format written by this class.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  /*
+   * The number of bytes before the first record.
+   */
+  public static final int HEADER_SIZE = 32;
+
+  /*
+   * The file always grows to a multiple of this many bytes of records.
+   */
+  private static final int EXTENT_SIZE = 1 << 20;
+
+  // Constructor
+
+  /*
+   * Constructs a new mapped dynamic array over an opened file.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param channel The channel of the backing file.
+   * @param mapping The mapping of the whole file.
+   * @param size The number of elements recorded in the header.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   */
+  private MappedDynamicArray(RecordCodec<T> codec, FileChannel channel,
+      MappedByteBuffer mapping, int size, GrowthPolicy growthPolicy) {
+    super(codec, records(mapping), size, 0, growthPolicy);
+    this.channel = channel;
+    this.mapping = mapping;
+  }
+
+  // Methods
+
+  /*
+   * Opens the array stored in the given file, creating an empty one if the
+   * file does not exist or is empty. The array only shrinks the file when
+   * it is cleared, and then only at the next checkpoint.
+   * @param file The path of the backing file.
+   * @param codec The codec that encodes and decodes the elements.
+   * @throws IllegalArgumentException if file or codec is null, or the
+   *         codec's width is not positive.
+   * @throws IOException if the file cannot be opened or mapped, is not an
+   *         array file, or was written with a different version or width.
+   * @return The opened array.
+   */
+  public static <T extends Comparable<T>> MappedDynamicArray<T> open(
+      Path file, RecordCodec<T> codec) throws IOException {
+    return open(file, codec, GrowthPolicy.noShrink(2.0, 0));
+  }
+
+  /*
+   * Opens the array stored in the given file with the given growth policy,
+   * creating an empty one if the file does not exist or is empty.
+   * @param file The path of the backing file.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if file, codec or growthPolicy is null,
+   *         or the codec's width is not positive.
+   * @throws IOException if the file cannot be opened or mapped, is not an
+   *         array file, or was written with a different version or width.
+   * @return The opened array.
+   */
+  public static <T extends Comparable<T>> MappedDynamicArray<T> open(
+      Path file, RecordCodec<T> codec, GrowthPolicy growthPolicy)
+      throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null");
+    }
+    if (codec == null) {
+      throw new IllegalArgumentException("Codec cannot be null");
+    }
+    if (codec.width() <= 0) {
+      throw new IllegalArgumentException("Record width must be positive");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      int width = codec.width();
+      long length = channel.size();
+      MappedByteBuffer mapping;
+      int size;
+      if (length == 0) {
+        mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            HEADER_SIZE + extent(0, width));
+        size = 0;
+        writeHeader(mapping, width, 0, capacityOf(mapping, width));
+        mapping.force();
+      } else {
+        if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+          throw new IOException("Not a dynamic array file");
+        }
+        mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        size = readHeader(mapping, width);
+      }
+      return new MappedDynamicArray<>(codec, channel, mapping, size,
+          growthPolicy);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /*
+   * Makes the contents of the array durable: flushes the records, then
+   * writes the size and capacity to the header and flushes it. If the array
+   * has shrunk since the last checkpoint, the file is truncated to the
+   * mapping only after the new header is on disk.
+   * @throws IllegalStateException if the array is closed.
+   * @throws UncheckedIOException if the file cannot be truncated.
+   */
+  public void force() {
+    if (isClosed()) {
+      throw new IllegalStateException("Array is closed");
+    }
+    this.mapping.force();
+    writeHeader(this.mapping, width(), size(),
+        capacityOf(this.mapping, width()));
+    this.mapping.force();
+    try {
+      if (this.mapping.capacity() < this.channel.size()) {
+        this.channel.truncate(this.mapping.capacity());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /*
+   * Checkpoints the array and closes the file. Closing a closed array does
+   * nothing.
+   * @throws UncheckedIOException if the file cannot be closed.
+   */
+  @Override
+  public void close() {
+    if (isClosed()) {
+      return;
+    }
+    force();
+    super.close();
+    this.mapping = null;
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /*
+   * Remaps the file so it holds at least the given number of bytes of
+   * records, rounded up to whole extents. The records stay where they are,
+   * so nothing is copied. When the array shrinks, only the mapping does;
+   * the file keeps its length until the next checkpoint writes a header
+   * that fits the shorter file, so a crash in between still reopens with
+   * the size of the last checkpoint.
+   * @param old The current record buffer.
+   * @param usedBytes The number of bytes of records in use.
+   * @param newBytes The number of bytes of records the file must hold.
+   * @throws UncheckedIOException if the file cannot be resized or mapped.
+   * @return The record buffer of the new mapping.
+   */
+  @Override
+  protected ByteBuffer reallocate(ByteBuffer old, int usedBytes,
+      int newBytes) {
+    long length = HEADER_SIZE + extent(newBytes, width());
+    try {
+      MappedByteBuffer newMapping = this.channel.map(
+          FileChannel.MapMode.READ_WRITE, 0, length);
+      this.mapping = newMapping;
+      return records(newMapping);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /*
+   * Returns the largest number of elements that fit in a single mapping
+   * after the header.
+   * @return The maximum capacity of the array.
+   */
+  @Override
+  protected int maxCapacity() {
+    return (Integer.MAX_VALUE - HEADER_SIZE) / width();
+  }
+
+  // Helper methods
+
+  /*
+   * Rounds a number of record bytes up to whole extents, without going past
+   * the largest mapping or cutting a record in half.
+   * @param bytes The number of bytes of records needed.
+   * @param width The width of a record in bytes.
+   * @return The number of bytes of records to map.
+   */
+  private static int extent(int bytes, int width) {
+    long rounded = ((long) bytes + EXTENT_SIZE - 1) / EXTENT_SIZE * EXTENT_SIZE;
+    rounded = Math.max(rounded, EXTENT_SIZE);
+    long max = (Integer.MAX_VALUE - HEADER_SIZE) / width * (long) width;
+    return (int) (Math.min(rounded, max) / width * width);
+  }
+
+  /*
+   * Returns the records of a mapping, the part after the header, as a buffer
+   * indexed from 0.
+   * @param mapping The mapping of the whole file.
+   * @return The record buffer.
+   */
+  private static ByteBuffer records(MappedByteBuffer mapping) {
+    ByteBuffer duplicate = mapping.duplicate();
+    duplicate.position(HEADER_SIZE);
+    return duplicate.slice();
+  }
+
+  /*
+   * Returns the number of record slots in a mapping.
+   * @param mapping The mapping of the whole file.
+   * @param width The width of a record in bytes.
+   * @return The capacity of the mapping, in elements.
+   */
+  private static int capacityOf(MappedByteBuffer mapping, int width) {
+    return (mapping.capacity() - HEADER_SIZE) / width;
+  }
+
+  /*
+   * Writes the header of a mapping.
+   * @param mapping The mapping of the whole file.
+   * @param width The width of a record in bytes.
+   * @param size The number of elements.
+   * @param capacity The number of record slots.
+   */
+  private static void writeHeader(MappedByteBuffer mapping, int width,
+      int size, int capacity) {
+    mapping.putInt(0, MAGIC);
+    mapping.putInt(4, FORMAT_VERSION);
+    mapping.putInt(8, width);
+    mapping.putInt(12, 0);
+    mapping.putLong(16, size);
+    mapping.putLong(24, capacity);
+  }
+
+  /*
+   * Reads and checks the header of a mapping.
+   * @param mapping The mapping of the whole file.
+   * @param width The width of a record the codec expects.
+   * @throws IOException if the header is not valid for this codec.
+   * @return The number of elements recorded in the header.
+   */
+  private static int readHeader(MappedByteBuffer mapping, int width)
+      throws IOException {
+    if (mapping.getInt(0) != MAGIC) {
+      throw new IOException("Not a dynamic array file");
+    }
+    if (mapping.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("Unsupported format version " + mapping.getInt(4));
+    }
+    if (mapping.getInt(8) != width) {
+      throw new IOException("Record width " + mapping.getInt(8)
+          + " does not match codec width " + width);
+    }
+    long size = mapping.getLong(16);
+    long capacity = mapping.getLong(24);
+    if (size < 0 || size > capacity
+        || capacity > capacityOf(mapping, width)) {
+      throw new IOException("File is truncated or corrupt");
+    }
+    return (int) size;
+  }
+}
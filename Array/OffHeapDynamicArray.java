@@ -0,0 +1,1560 @@
+package Array;
+
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/*
+ * A dynamic array that stores its elements outside the Java heap.
+ *
+ * Elements are encoded by a record codec into packed fixed-width slots of a
+ * direct byte buffer, so the array holds no references and adds nothing for
+ * the garbage collector to trace no matter how many elements it holds. The
+ * buffer grows and shrinks under a growth policy like DynamicArray's, by
+ * allocating a new buffer and copying the used bytes across. The sorts
+ * compare encoded records through the codec and move bytes, so they only
+ * decode anything if the codec itself does.
+ *
+ * Elements are decoded on every read, and two elements are considered equal
+ * when their encodings are equal. The largest capacity is bounded by the
+ * largest direct buffer: Integer.MAX_VALUE / width elements.
+ *
+ * close() drops the buffer and makes every further operation throw. The
+ * memory is handed back once the buffer is collected.
+ *
+ * Subclasses can supply their own storage, such as a mapped file, through
+ * the protected constructor and by overriding reallocate and maxCapacity.
+ */
+public class OffHeapDynamicArray<T extends Comparable<T>>
+implements DynamicArrayInterface<T>, AutoCloseable {
+
+  // Instance variables
+
+  /*
+   * The current number of elements in the array.
+   */
+  private int size;
+
+  /*
+   * The current capacity of the array, in elements.
+   */
+  private int capacity;
+
+  /*
+   * The buffer storing the encoded elements, or null once closed.
+   */
+  private ByteBuffer data;
+
+  /*
+   * The number of structural modifications made to the array. Iterators and
+   * spliterators compare it against the value they started with to fail
+   * fast on concurrent modification.
+   */
+  private int modCount;
+
+  /*
+   * The codec that encodes and decodes the elements.
+   */
+  private final RecordCodec<T> codec;
+
+  /*
+   * The number of bytes every element takes.
+   */
+  private final int width;
+
+  /*
+   * A single-record heap buffer used to hold a sort key or a search probe.
+   */
+  private final ByteBuffer scratch;
+
+  /*
+   * The capacity the array starts with and returns to when cleared.
+   */
+  private final int initialCapacity;
+
+  /*
+   * The policy deciding when and by how much the array grows and shrinks.
+   */
+  private final GrowthPolicy growthPolicy;
+
+  /*
+   * The default initial capacity of the array.
+   */
+  private static final int INITIAL_CAPACITY = 32;
+
+  /*
+   * Ranges shorter than this are sorted with insertion sort.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 24;
+
+  // Constructors
+
+  /*
+   * Constructs a new off-heap dynamic array with the default growth policy.
+   * @param codec The codec that encodes and decodes the elements.
+   * @throws IllegalArgumentException if codec is null or its width is not
+   *         positive.
+   */
+  public OffHeapDynamicArray(RecordCodec<T> codec) {
+    this(codec, INITIAL_CAPACITY, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new off-heap dynamic array with the given initial capacity
+   * and the default growth policy.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param initialCapacity The initial capacity of the array.
+   * @throws IllegalArgumentException if codec is null, its width is not
+   *         positive, or initialCapacity is negative or too large to fit in
+   *         a buffer.
+   */
+  public OffHeapDynamicArray(RecordCodec<T> codec, int initialCapacity) {
+    this(codec, initialCapacity, GrowthPolicy.defaultPolicy());
+  }
+
+  /*
+   * Constructs a new off-heap dynamic array with the given growth policy.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if codec or growthPolicy is null, or
+   *         the codec's width is not positive.
+   */
+  public OffHeapDynamicArray(RecordCodec<T> codec, GrowthPolicy growthPolicy) {
+    this(codec, INITIAL_CAPACITY, growthPolicy);
+  }
+
+  /*
+   * Constructs a new off-heap dynamic array with the given initial capacity
+   * and growth policy.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param initialCapacity The initial capacity of the array.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if codec or growthPolicy is null, the
+   *         codec's width is not positive, or initialCapacity is negative or
+   *         too large to fit in a buffer.
+   */
+  public OffHeapDynamicArray(RecordCodec<T> codec, int initialCapacity,
+      GrowthPolicy growthPolicy) {
+    if (codec == null) {
+      throw new IllegalArgumentException("Codec cannot be null");
+    }
+    if (codec.width() <= 0) {
+      throw new IllegalArgumentException("Record width must be positive");
+    }
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    if (initialCapacity > Integer.MAX_VALUE / codec.width()) {
+      throw new IllegalArgumentException(
+          "Capacity exceeds maximum buffer size");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
+    this.size = 0;
+    this.modCount = 0;
+    this.codec = codec;
+    this.width = codec.width();
+    this.scratch = ByteBuffer.allocate(this.width);
+    this.capacity = initialCapacity;
+    this.initialCapacity = initialCapacity;
+    this.growthPolicy = growthPolicy;
+    this.data = ByteBuffer.allocateDirect(initialCapacity * this.width);
+  }
+
+  /*
+   * Constructs a new off-heap dynamic array over an existing buffer whose
+   * first size records are already encoded elements.
+   * @param codec The codec that encodes and decodes the elements.
+   * @param data The buffer holding the records, starting at index 0.
+   * @param size The number of elements already in the buffer.
+   * @param initialCapacity The capacity the array returns to when cleared.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if codec, data or growthPolicy is null,
+   *         the codec's width is not positive, or size is negative or does
+   *         not fit in the buffer.
+   */
+  protected OffHeapDynamicArray(RecordCodec<T> codec, ByteBuffer data,
+      int size, int initialCapacity, GrowthPolicy growthPolicy) {
+    if (codec == null) {
+      throw new IllegalArgumentException("Codec cannot be null");
+    }
+    if (codec.width() <= 0) {
+      throw new IllegalArgumentException("Record width must be positive");
+    }
+    if (data == null) {
+      throw new IllegalArgumentException("Buffer cannot be null");
+    }
+    if (size < 0 || size > data.capacity() / codec.width()) {
+      throw new IllegalArgumentException("Size does not fit in buffer");
+    }
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    if (growthPolicy == null) {
+      throw new IllegalArgumentException("Growth policy cannot be null");
+    }
+    this.size = size;
+    this.modCount = 0;
+    this.codec = codec;
+    this.width = codec.width();
+    this.scratch = ByteBuffer.allocate(this.width);
+    this.capacity = data.capacity() / this.width;
+    this.initialCapacity = initialCapacity;
+    this.growthPolicy = growthPolicy;
+    this.data = data;
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the front of the array.
+   * @param element The element to be added to the front of the array.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void addFront(T element) {
+    add(0, element);
+  }
+
+  /*
+   * Adds an element to the back of the array.
+   * @param element The element to be added to the back of the array.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void addBack(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    ensureOpen();
+    if (isFull()) {
+      grow(this.size + 1);
+    }
+    this.modCount++;
+    this.codec.encode(element, this.data, this.size * this.width);
+    this.size++;
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the array, the element should be added to the back of the array.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void add(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    ensureOpen();
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (isFull()) {
+      grow(this.size + 1);
+    }
+    this.modCount++;
+    moveSlots(index, index + 1, this.size - index);
+    this.codec.encode(element, this.data, index * this.width);
+    this.size++;
+  }
+
+  /*
+   * Adds all elements of the given array to the back of the array, in order.
+   * @param elements The elements to be added to the back of the array.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void addAll(T[] elements) {
+    ensureOpen();
+    addAll(this.size, elements);
+  }
+
+  /*
+   * Adds all elements of the given array at the specified index, in order.
+   * If the index is equal to the size of the array, the elements should be
+   * added to the back of the array.
+   * @param index The index at which the first element should be added.
+   * @param elements The elements to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void addAll(int index, T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    ensureOpen();
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    for (T element : elements) {
+      if (element == null) {
+        throw new IllegalArgumentException("Element cannot be null");
+      }
+    }
+    int count = elements.length;
+    if (count > this.capacity - this.size) {
+      grow(this.size + count);
+    }
+    this.modCount++;
+    moveSlots(index, index + count, this.size - index);
+    for (int i = 0; i < count; i++) {
+      this.codec.encode(elements[i], this.data, (index + i) * this.width);
+    }
+    this.size += count;
+  }
+
+  /*
+   * Adds all elements of the given dynamic array to the back of the array,
+   * in order.
+   * @param elements The dynamic array whose elements should be added.
+   * @throws IllegalArgumentException if elements is null.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void addAll(DynamicArrayInterface<T> elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    addAll(elements.toArray());
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalStateException if the array is closed.
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    ensureOpen();
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return element(index);
+  }
+
+  /*
+   * Replaces an element at the specified index.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be replaced at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return The element that was replaced.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    ensureOpen();
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T oldElement = element(index);
+    this.codec.encode(element, this.data, index * this.width);
+    return oldElement;
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    ensureOpen();
+    this.codec.encode(element, this.scratch, 0);
+    for (int i = 0; i < this.size; i++) {
+      if (matchesScratch(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    ensureOpen();
+    this.codec.encode(element, this.scratch, 0);
+    for (int i = this.size - 1; i >= 0; i--) {
+      if (matchesScratch(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the array contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return true if the array contains the given element, false otherwise.
+   */
+  @Override
+  public boolean contains(T element) {
+    return firstIndexOf(element) != -1;
+  }
+
+  /*
+   * Removes the element at the front of the array.
+   * @throws IllegalStateException if the array is closed.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeFront() {
+    ensureOpen();
+    if (isEmpty()) {
+      return null;
+    }
+    return remove(0);
+  }
+
+  /*
+   * Removes the element at the back of the array.
+   * @throws IllegalStateException if the array is closed.
+   * @return The element that was removed, or null if the array is empty.
+   */
+  @Override
+  public T removeBack() {
+    ensureOpen();
+    if (isEmpty()) {
+      return null;
+    }
+    return remove(this.size - 1);
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalStateException if the array is closed.
+   * @return The element that was removed.
+   */
+  @Override
+  public T remove(int index) {
+    ensureOpen();
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    this.modCount++;
+    T removedElement = element(index);
+    moveSlots(index + 1, index, this.size - index - 1);
+    this.size--;
+    if (isSparse()) {
+      downsize();
+    }
+    return removedElement;
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeFirst(T element) {
+    int index = firstIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeLast(T element) {
+    int index = lastIndexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  /*
+   * Removes the elements from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The index of the first element to be removed.
+   * @param toIndex The index after the last element to be removed.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    ensureOpen();
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    moveSlots(toIndex, fromIndex, this.size - toIndex);
+    truncate(this.size - (toIndex - fromIndex));
+  }
+
+  /*
+   * Removes all elements that satisfy the given predicate. The predicate is
+   * evaluated for every element before anything is moved, so the array is
+   * left unchanged if it throws.
+   * @param filter The predicate that returns true for elements to be removed.
+   * @throws IllegalArgumentException if filter is null.
+   * @throws IllegalStateException if the array is closed.
+   * @return true if any element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeIf(Predicate<? super T> filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null");
+    }
+    ensureOpen();
+    int first = 0;
+    while (first < this.size && !filter.test(element(first))) {
+      first++;
+    }
+    if (first == this.size) {
+      return false;
+    }
+    long[] removed = new long[((this.size - first - 1) >> 6) + 1];
+    removed[0] = 1L;
+    for (int i = first + 1; i < this.size; i++) {
+      if (filter.test(element(i))) {
+        removed[(i - first) >> 6] |= 1L << (i - first);
+      }
+    }
+    int kept = first;
+    for (int i = first + 1; i < this.size; i++) {
+      if ((removed[(i - first) >> 6] & (1L << (i - first))) == 0) {
+        copyBytes(this.data, i * this.width, this.data, kept * this.width,
+            this.width);
+        kept++;
+      }
+    }
+    truncate(kept);
+    return true;
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /*
+   * Removes all elements from the array.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void clear() {
+    ensureOpen();
+    this.modCount++;
+    this.size = 0;
+    this.data = reallocate(this.data, 0, this.initialCapacity * this.width);
+    this.capacity = this.data.capacity() / this.width;
+  }
+
+  /*
+   * Grows the array, if necessary, so that it can hold at least the given
+   * number of elements without resizing again.
+   * @param minCapacity The number of elements the array must be able to hold.
+   * @throws OutOfMemoryError if minCapacity elements do not fit in a buffer.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void ensureCapacity(int minCapacity) {
+    ensureOpen();
+    if (minCapacity > this.capacity) {
+      grow(minCapacity);
+    }
+  }
+
+  /*
+   * Shrinks the capacity of the array to its current size.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void trimToSize() {
+    ensureOpen();
+    if (this.capacity > this.size) {
+      resize(this.size);
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using merge sort.
+   * Short runs are sorted with insertion sort, then merged bottom-up between
+   * the array and an off-heap scratch buffer of the same size. The sort is
+   * stable.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void mergeSort() {
+    ensureOpen();
+    this.modCount++;
+    int n = this.size;
+    if (n < 2) {
+      return;
+    }
+    for (int low = 0; low < n; low += INSERTION_SORT_THRESHOLD) {
+      insertionSort(low, Math.min(low + INSERTION_SORT_THRESHOLD, n));
+    }
+    if (n <= INSERTION_SORT_THRESHOLD) {
+      return;
+    }
+    ByteBuffer source = this.data;
+    ByteBuffer dest = ByteBuffer.allocateDirect(n * this.width);
+    for (int run = INSERTION_SORT_THRESHOLD; run < n; run <<= 1) {
+      for (int low = 0; low < n; low += run << 1) {
+        int mid = Math.min(low + run, n);
+        int high = Math.min(low + (run << 1), n);
+        merge(source, dest, low, mid, high);
+      }
+      ByteBuffer temp = source;
+      source = dest;
+      dest = temp;
+    }
+    if (source != this.data) {
+      transfer(source, 0, this.data, 0, n * this.width);
+    }
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using quick sort.
+   * The sort is an introsort: median-of-three Hoare partitioning,
+   * insertion sort for small ranges and heap sort once recursion gets too
+   * deep. It is not stable.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void quickSort() {
+    ensureOpen();
+    this.modCount++;
+    if (this.size < 2) {
+      return;
+    }
+    int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(this.size));
+    quickSort(0, this.size, depthLimit);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using insertion sort.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void insertionSort() {
+    ensureOpen();
+    this.modCount++;
+    insertionSort(0, this.size);
+  }
+
+  /*
+   * Sorts the elements in the array in ascending order using selection sort.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void selectionSort() {
+    ensureOpen();
+    this.modCount++;
+    for (int i = 0; i < this.size - 1; i++) {
+      int minIndex = i;
+      for (int j = i + 1; j < this.size; j++) {
+        if (compareSlots(j, minIndex) < 0) {
+          minIndex = j;
+        }
+      }
+      if (minIndex != i) {
+        swapSlots(i, minIndex);
+      }
+    }
+  }
+
+  /*
+   * Reverses the order of the elements in the array.
+   * @throws IllegalStateException if the array is closed.
+   */
+  @Override
+  public void reverse() {
+    ensureOpen();
+    this.modCount++;
+    for (int i = 0; i < this.size / 2; i++) {
+      swapSlots(i, this.size - 1 - i);
+    }
+  }
+
+  /*
+   * Returns an iterator over the elements in the array, from front to back.
+   * The iterator is fail-fast: it throws ConcurrentModificationException
+   * if the array is structurally modified other than through the iterator.
+   * @throws IllegalStateException if the array is closed.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    ensureOpen();
+    return new ArrayIterator();
+  }
+
+  /*
+   * Returns a spliterator over the elements in the array. It splits its
+   * range evenly in halves and reports SIZED, SUBSIZED, ORDERED and NONNULL.
+   * It binds to the array when first used and fails fast if the array is
+   * structurally modified after that.
+   * @throws IllegalStateException if the array is closed.
+   * @return A spliterator over the elements in the array.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    ensureOpen();
+    return new ArraySpliterator(0, -1, 0);
+  }
+
+  /*
+   * Returns an array representation of the elements in the array.
+   * @throws IllegalStateException if the array is closed.
+   * @return An array containing the elements in the array.
+   */
+  @Override
+  public T[] toArray() {
+    ensureOpen();
+    return toSubArray(0, this.size);
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws IllegalStateException if the array is closed.
+   * @return An array containing the elements in the specified range.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toSubArray(int fromIndex, int toIndex) {
+    ensureOpen();
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T[] subArray = (T[]) new Comparable[toIndex - fromIndex];
+    for (int i = fromIndex; i < toIndex; i++) {
+      subArray[i - fromIndex] = element(i);
+    }
+    return subArray;
+  }
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view decodes elements from the
+   * buffer on each read and encodes writes straight into it. Any
+   * structural modification of the array, including closing it,
+   * invalidates the view.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws IllegalStateException if the array is closed.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    ensureOpen();
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new ArraySlice(fromIndex, toIndex - fromIndex, this.modCount);
+  }
+
+  /*
+   * Releases the buffer. Every later operation other than size, isEmpty and
+   * close throws IllegalStateException. Closing a closed array does nothing.
+   */
+  @Override
+  public void close() {
+    if (this.data == null) {
+      return;
+    }
+    this.modCount++;
+    this.data = null;
+    this.size = 0;
+    this.capacity = 0;
+  }
+
+  /*
+   * Checks if the array has been closed.
+   * @return true if the array is closed, false otherwise.
+   */
+  public boolean isClosed() {
+    return this.data == null;
+  }
+
+  /*
+   * Returns the number of bytes every element takes.
+   * @return The width of a record in bytes.
+   */
+  public int width() {
+    return this.width;
+  }
+
+  /*
+   * Replaces the buffer with one that can hold at least the given number of
+   * bytes and starts with the used bytes of the old one. The default
+   * allocates a new direct buffer of exactly that size and copies the used
+   * bytes across.
+   * @param old The current buffer.
+   * @param usedBytes The number of bytes at the start of old in use.
+   * @param newBytes The number of bytes the new buffer must hold.
+   * @return The new buffer, with the used bytes starting at index 0.
+   */
+  protected ByteBuffer reallocate(ByteBuffer old, int usedBytes,
+      int newBytes) {
+    ByteBuffer newData = ByteBuffer.allocateDirect(newBytes);
+    transfer(old, 0, newData, 0, usedBytes);
+    return newData;
+  }
+
+  /*
+   * Returns the largest number of elements the storage can hold.
+   * @return The maximum capacity of the array.
+   */
+  protected int maxCapacity() {
+    return Integer.MAX_VALUE / this.width;
+  }
+
+  // Helper methods
+
+  /*
+   * Throws if the array has been closed.
+   * @throws IllegalStateException if the array is closed.
+   */
+  private void ensureOpen() {
+    if (this.data == null) {
+      throw new IllegalStateException("Array is closed");
+    }
+  }
+
+  /*
+   * Decodes the element at the given index.
+   * @param index The index of the element.
+   * @return The decoded element.
+   */
+  private T element(int index) {
+    return this.codec.decode(this.data, index * this.width);
+  }
+
+  /*
+   * Checks if the array is full.
+   * @return true if the array is full, false otherwise.
+   */
+  private boolean isFull() {
+    return this.size == this.capacity;
+  }
+
+  /*
+   * Checks if the array is sparse enough to shrink under its growth policy.
+   * @return true if the array should shrink, false otherwise.
+   */
+  private boolean isSparse() {
+    return this.growthPolicy.shouldShrink(this.size, this.capacity);
+  }
+
+  /*
+   * Checks if the index is in the range [0, size).
+   * @param index The index to check.
+   * @return true if the index is exclusive, false otherwise.
+   */
+  private boolean checkIndexExclusive(int index) {
+    return index >= 0 && index < this.size;
+  }
+
+  /*
+   * Checks if the index is in the range [0, size].
+   * @param index The index to check.
+   * @return true if the index is inclusive, false otherwise.
+   */
+  private boolean checkIndexInclusive(int index) {
+    return index >= 0 && index <= this.size;
+  }
+
+  /*
+   * Drops every element from the given size onwards and shrinks the array if
+   * the growth policy asks for it.
+   * @param newSize The number of elements to keep.
+   */
+  private void truncate(int newSize) {
+    this.modCount++;
+    this.size = newSize;
+    if (isSparse()) {
+      downsize();
+    }
+  }
+
+  /*
+   * Grows the capacity of the array according to its growth policy so that
+   * at least the required number of elements fit.
+   * @param required The number of elements that must fit.
+   * @throws OutOfMemoryError if required elements do not fit in a buffer.
+   */
+  private void grow(int required) {
+    int maxCapacity = maxCapacity();
+    if (required < 0 || required > maxCapacity) {
+      throw new OutOfMemoryError("Required capacity exceeds maximum buffer size");
+    }
+    resize(Math.min(this.growthPolicy.grow(this.capacity, required),
+        maxCapacity));
+  }
+
+  /*
+   * Shrinks the capacity of the array according to its growth policy, as
+   * far as the policy allows, with a single copy.
+   */
+  private void downsize() {
+    int newCapacity = this.growthPolicy.shrink(this.size, this.capacity);
+    while (this.growthPolicy.shouldShrink(this.size, newCapacity)) {
+      int shrunk = this.growthPolicy.shrink(this.size, newCapacity);
+      if (shrunk == newCapacity) {
+        break;
+      }
+      newCapacity = shrunk;
+    }
+    resize(newCapacity);
+  }
+
+  /*
+   * Moves the encoded elements into a new buffer of at least the given
+   * capacity.
+   * @param newCapacity The capacity of the new buffer, in elements.
+   */
+  private void resize(int newCapacity) {
+    this.data = reallocate(this.data, this.size * this.width,
+        newCapacity * this.width);
+    this.capacity = this.data.capacity() / this.width;
+  }
+
+  /*
+   * Shifts count elements starting at the from index so that they start at
+   * the to index. The ranges may overlap.
+   * @param from The index of the first element to be moved.
+   * @param to The index the first element is moved to.
+   * @param count The number of elements to be moved.
+   */
+  private void moveSlots(int from, int to, int count) {
+    int length = count * this.width;
+    int source = from * this.width;
+    int target = to * this.width;
+    ByteBuffer buffer = this.data;
+    if (target < source) {
+      copyBytes(buffer, source, buffer, target, length);
+      return;
+    }
+    int i = length;
+    while (i >= Long.BYTES) {
+      i -= Long.BYTES;
+      buffer.putLong(target + i, buffer.getLong(source + i));
+    }
+    while (i > 0) {
+      i--;
+      buffer.put(target + i, buffer.get(source + i));
+    }
+  }
+
+  /*
+   * Copies bytes front to back, eight at a time where possible. The ranges
+   * may only overlap if the target comes before the source.
+   * @param source The buffer the bytes are copied from.
+   * @param sourceOffset The index of the first byte to be copied.
+   * @param target The buffer the bytes are copied to.
+   * @param targetOffset The index the first byte is copied to.
+   * @param length The number of bytes to be copied.
+   */
+  private static void copyBytes(ByteBuffer source, int sourceOffset,
+      ByteBuffer target, int targetOffset, int length) {
+    int i = 0;
+    for (; i <= length - Long.BYTES; i += Long.BYTES) {
+      target.putLong(targetOffset + i, source.getLong(sourceOffset + i));
+    }
+    for (; i < length; i++) {
+      target.put(targetOffset + i, source.get(sourceOffset + i));
+    }
+  }
+
+  /*
+   * Copies a range of bytes between two distinct buffers in bulk.
+   * @param source The buffer the bytes are copied from.
+   * @param sourceOffset The index of the first byte to be copied.
+   * @param target The buffer the bytes are copied to.
+   * @param targetOffset The index the first byte is copied to.
+   * @param length The number of bytes to be copied.
+   */
+  private static void transfer(ByteBuffer source, int sourceOffset,
+      ByteBuffer target, int targetOffset, int length) {
+    ByteBuffer from = source.duplicate();
+    from.limit(sourceOffset + length);
+    from.position(sourceOffset);
+    ByteBuffer to = target.duplicate();
+    to.position(targetOffset);
+    to.put(from);
+  }
+
+  /*
+   * Compares the encoded elements at the given indexes.
+   * @param i The index of the first element.
+   * @param j The index of the second element.
+   * @return The result of comparing the first element to the second.
+   */
+  private int compareSlots(int i, int j) {
+    return this.codec.compare(this.data, i * this.width, this.data,
+        j * this.width);
+  }
+
+  /*
+   * Compares the encoded element at the given index to the record held in
+   * the scratch buffer.
+   * @param index The index of the element.
+   * @return The result of comparing the element to the scratch record.
+   */
+  private int compareToScratch(int index) {
+    return this.codec.compare(this.data, index * this.width, this.scratch, 0);
+  }
+
+  /*
+   * Checks if the encoded element at the given index has the same bytes as
+   * the record held in the scratch buffer.
+   * @param index The index of the element.
+   * @return true if the encodings are equal, false otherwise.
+   */
+  private boolean matchesScratch(int index) {
+    int offset = index * this.width;
+    int i = 0;
+    for (; i <= this.width - Long.BYTES; i += Long.BYTES) {
+      if (this.data.getLong(offset + i) != this.scratch.getLong(i)) {
+        return false;
+      }
+    }
+    for (; i < this.width; i++) {
+      if (this.data.get(offset + i) != this.scratch.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Swaps the encoded elements at the given indexes.
+   * @param i The index of the first element.
+   * @param j The index of the second element.
+   */
+  private void swapSlots(int i, int j) {
+    ByteBuffer buffer = this.data;
+    int left = i * this.width;
+    int right = j * this.width;
+    int k = 0;
+    for (; k <= this.width - Long.BYTES; k += Long.BYTES) {
+      long temp = buffer.getLong(left + k);
+      buffer.putLong(left + k, buffer.getLong(right + k));
+      buffer.putLong(right + k, temp);
+    }
+    for (; k < this.width; k++) {
+      byte temp = buffer.get(left + k);
+      buffer.put(left + k, buffer.get(right + k));
+      buffer.put(right + k, temp);
+    }
+  }
+
+  /*
+   * Sorts the range [low, high) with insertion sort, holding the element
+   * being inserted in the scratch buffer.
+   * @param low The index of the first element of the range.
+   * @param high The index after the last element of the range.
+   */
+  private void insertionSort(int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      if (compareSlots(i - 1, i) <= 0) {
+        continue;
+      }
+      copyBytes(this.data, i * this.width, this.scratch, 0, this.width);
+      int j = i - 1;
+      while (j >= low && compareToScratch(j) > 0) {
+        j--;
+      }
+      moveSlots(j + 1, j + 2, i - j - 1);
+      copyBytes(this.scratch, 0, this.data, (j + 1) * this.width, this.width);
+    }
+  }
+
+  /*
+   * Stably merges the sorted runs [low, mid) and [mid, high) of the source
+   * into the same range of the destination.
+   * @param source The buffer holding the runs.
+   * @param dest The buffer the merged range is written to.
+   * @param low The index of the first element of the first run.
+   * @param mid The index of the first element of the second run.
+   * @param high The index after the last element of the second run.
+   */
+  private void merge(ByteBuffer source, ByteBuffer dest, int low, int mid,
+      int high) {
+    int w = this.width;
+    if (mid >= high || this.codec.compare(source, (mid - 1) * w, source,
+        mid * w) <= 0) {
+      transfer(source, low * w, dest, low * w, (high - low) * w);
+      return;
+    }
+    int i = low;
+    int j = mid;
+    int k = low;
+    while (i < mid && j < high) {
+      if (this.codec.compare(source, j * w, source, i * w) < 0) {
+        copyBytes(source, j++ * w, dest, k++ * w, w);
+      } else {
+        copyBytes(source, i++ * w, dest, k++ * w, w);
+      }
+    }
+    if (i < mid) {
+      transfer(source, i * w, dest, k * w, (mid - i) * w);
+    } else if (j < high) {
+      transfer(source, j * w, dest, k * w, (high - j) * w);
+    }
+  }
+
+  /*
+   * Sorts the range [low, high) with introsort. The smaller side of every
+   * partition is sorted recursively and the larger one iteratively, so the
+   * stack stays logarithmic.
+   * @param low The index of the first element of the range.
+   * @param high The index after the last element of the range.
+   * @param depth The number of partitioning levels still allowed.
+   */
+  private void quickSort(int low, int high, int depth) {
+    while (high - low >= INSERTION_SORT_THRESHOLD) {
+      if (depth == 0) {
+        heapSort(low, high);
+        return;
+      }
+      depth--;
+      int mid = (low + high) >>> 1;
+      if (compareSlots(mid, low) < 0) {
+        swapSlots(mid, low);
+      }
+      if (compareSlots(high - 1, low) < 0) {
+        swapSlots(high - 1, low);
+      }
+      if (compareSlots(high - 1, mid) < 0) {
+        swapSlots(high - 1, mid);
+      }
+      copyBytes(this.data, mid * this.width, this.scratch, 0, this.width);
+      int i = low;
+      int j = high - 1;
+      while (true) {
+        do {
+          i++;
+        } while (compareToScratch(i) < 0);
+        do {
+          j--;
+        } while (compareToScratch(j) > 0);
+        if (i >= j) {
+          break;
+        }
+        swapSlots(i, j);
+      }
+      if (j + 1 - low < high - j - 1) {
+        quickSort(low, j + 1, depth);
+        low = j + 1;
+      } else {
+        quickSort(j + 1, high, depth);
+        high = j + 1;
+      }
+    }
+    insertionSort(low, high);
+  }
+
+  /*
+   * Sorts the range [low, high) with heap sort.
+   * @param low The index of the first element of the range.
+   * @param high The index after the last element of the range.
+   */
+  private void heapSort(int low, int high) {
+    int length = high - low;
+    for (int i = (length >>> 1) - 1; i >= 0; i--) {
+      siftDown(low, i, length);
+    }
+    for (int end = length - 1; end > 0; end--) {
+      swapSlots(low, low + end);
+      siftDown(low, 0, end);
+    }
+  }
+
+  /*
+   * Restores the max-heap property below the given node of the heap stored
+   * in [base, base + length).
+   * @param base The index of the root of the heap.
+   * @param node The position of the node in the heap.
+   * @param length The number of elements in the heap.
+   */
+  private void siftDown(int base, int node, int length) {
+    while (true) {
+      int child = (node << 1) + 1;
+      if (child >= length) {
+        return;
+      }
+      if (child + 1 < length && compareSlots(base + child + 1, base + child) > 0) {
+        child++;
+      }
+      if (compareSlots(base + node, base + child) >= 0) {
+        return;
+      }
+      swapSlots(base + node, base + child);
+      node = child;
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the array. Reads decode the record in place, and
+   * writes go through set.
+   */
+  private class ArraySlice extends AbstractSlice<T> {
+
+    /*
+     * The index in the array of the first element of the slice.
+     */
+    private final int offset;
+
+    /*
+     * The modCount of the array when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given index of the array.
+     * @param offset The index of the first element.
+     * @param length The number of elements.
+     * @param expectedModCount The modCount of the array.
+     */
+    ArraySlice(int offset, int length, int expectedModCount) {
+      super(length);
+      this.offset = offset;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return OffHeapDynamicArray.this.element(this.offset + index);
+    }
+
+    /*
+     * Writes the element at the given index of the slice through to the
+     * array.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      return OffHeapDynamicArray.this.set(this.offset + index, element);
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      return new ArraySlice(this.offset + fromIndex, toIndex - fromIndex,
+          this.expectedModCount);
+    }
+
+    /*
+     * Throws if the array was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the array.
+   */
+  private class ArrayIterator implements Iterator<T> {
+
+    /*
+     * The index of the next element to be returned.
+     */
+    private int cursor;
+
+    /*
+     * The index of the element last returned, or -1 if there is none.
+     */
+    private int lastReturned;
+
+    /*
+     * The modification count the iterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs an iterator positioned before the first element.
+     */
+    ArrayIterator() {
+      this.cursor = 0;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.cursor < size;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      checkForComodification();
+      if (this.cursor >= size) {
+        throw new NoSuchElementException();
+      }
+      this.lastReturned = this.cursor++;
+      return element(this.lastReturned);
+    }
+
+    /*
+     * Removes the element last returned by next.
+     * @throws IllegalStateException if next has not been called, or remove
+     *         has already been called after the last call to next.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void remove() {
+      if (this.lastReturned < 0) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      OffHeapDynamicArray.this.remove(this.lastReturned);
+      this.cursor = this.lastReturned;
+      this.lastReturned = -1;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Throws if the array was structurally modified behind the iterator.
+     */
+    private void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /*
+   * A spliterator over a range of the array that splits in halves.
+   */
+  private class ArraySpliterator implements Spliterator<T> {
+
+    /*
+     * The index of the next element to be traversed.
+     */
+    private int index;
+
+    /*
+     * The index after the last element to be traversed, or -1 until the
+     * spliterator is first used.
+     */
+    private int fence;
+
+    /*
+     * The modification count the spliterator expects the array to have.
+     */
+    private int expectedModCount;
+
+    /*
+     * Constructs a spliterator over the range [origin, fence).
+     * @param origin The index of the first element to be traversed.
+     * @param fence The index after the last element, or -1 to bind to the
+     *        size of the array on first use.
+     * @param expectedModCount The modification count to expect.
+     */
+    ArraySpliterator(int origin, int fence, int expectedModCount) {
+      this.index = origin;
+      this.fence = fence;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Returns the end of the range, binding it to the current size of the
+     * array on first use.
+     * @return The index after the last element to be traversed.
+     */
+    private int getFence() {
+      if (this.fence < 0) {
+        this.expectedModCount = modCount;
+        this.fence = size;
+      }
+      return this.fence;
+    }
+
+    /*
+     * Splits off the first half of the remaining range.
+     * @return A spliterator over the first half, or null if the remaining
+     *         range is too small to split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+      int high = getFence();
+      int low = this.index;
+      int mid = (low + high) >>> 1;
+      if (low >= mid) {
+        return null;
+      }
+      this.index = mid;
+      return new ArraySpliterator(low, mid, this.expectedModCount);
+    }
+
+    /*
+     * Performs the action on the next element, if there is one.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     * @return true if an element was traversed, false otherwise.
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      if (i >= high) {
+        return false;
+      }
+      this.index = i + 1;
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      action.accept(element(i));
+      return true;
+    }
+
+    /*
+     * Performs the action on every remaining element.
+     * @param action The action to be performed.
+     * @throws IllegalArgumentException if action is null.
+     * @throws ConcurrentModificationException if the array was modified.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      if (action == null) {
+        throw new IllegalArgumentException("Action cannot be null");
+      }
+      int high = getFence();
+      int i = this.index;
+      this.index = high;
+      for (; i < high; i++) {
+        if (modCount != this.expectedModCount) {
+          throw new ConcurrentModificationException();
+        }
+        action.accept(element(i));
+      }
+    }
+
+    /*
+     * Returns the number of elements left to traverse.
+     * @return The number of remaining elements.
+     */
+    @Override
+    public long estimateSize() {
+      return getFence() - this.index;
+    }
+
+    /*
+     * Returns the characteristics of the spliterator.
+     * @return ORDERED, SIZED, SUBSIZED and NONNULL.
+     */
+    @Override
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+          | Spliterator.NONNULL;
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package Array;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Converts elements to and from fixed-width records of bytes, so they can be
+ * stored outside the Java heap.
+ *
+ * Every element is encoded into exactly width() bytes starting at the given
+ * offset of the buffer, using absolute gets and puts only. Two elements are
+ * considered equal when their encodings are equal, so an encoding has to be
+ * canonical: equal elements must always produce the same bytes.
+ *
+ * compare orders two encoded records. The default decodes both and compares
+ * the elements; codecs that can order the raw bytes directly should override
+ * it so sorting does not decode every element.
+ */
+public interface RecordCodec<T extends Comparable<T>> {
+
+  /*
+   * Returns the number of bytes every encoded element takes.
+   * @return The width of a record in bytes.
+   */
+  int width();
+
+  /*
+   * Writes the element into the buffer starting at the given offset.
+   * @param element The element to be encoded.
+   * @param buffer The buffer the record is written to.
+   * @param offset The index of the first byte of the record.
+   */
+  void encode(T element, ByteBuffer buffer, int offset);
+
+  /*
+   * Reads the element whose record starts at the given offset.
+   * @param buffer The buffer the record is read from.
+   * @param offset The index of the first byte of the record.
+   * @return The decoded element.
+   */
+  T decode(ByteBuffer buffer, int offset);
+
+  /*
+   * Compares two encoded records in the order of the elements they encode.
+   * @param left The buffer holding the first record.
+   * @param leftOffset The index of the first byte of the first record.
+   * @param right The buffer holding the second record.
+   * @param rightOffset The index of the first byte of the second record.
+   * @return A negative number, zero or a positive number if the first
+   *         element is less than, equal to or greater than the second.
+   */
+  default int compare(ByteBuffer left, int leftOffset, ByteBuffer right,
+      int rightOffset) {
+    return decode(left, leftOffset).compareTo(decode(right, rightOffset));
+  }
+
+  /*
+   * Returns a codec that stores integers in four bytes and compares them
+   * without decoding.
+   * @return A codec for integers.
+   */
+  static RecordCodec<Integer> integers() {
+    return new RecordCodec<Integer>() {
+      @Override
+      public int width() {
+        return Integer.BYTES;
+      }
+
+      @Override
+      public void encode(Integer element, ByteBuffer buffer, int offset) {
+        buffer.putInt(offset, element);
+      }
+
+      @Override
+      public Integer decode(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+      }
+
+      @Override
+      public int compare(ByteBuffer left, int leftOffset, ByteBuffer right,
+          int rightOffset) {
+        return Integer.compare(left.getInt(leftOffset),
+            right.getInt(rightOffset));
+      }
+    };
+  }
+
+  /*
+   * Returns a codec that stores longs in eight bytes and compares them
+   * without decoding.
+   * @return A codec for longs.
+   */
+  static RecordCodec<Long> longs() {
+    return new RecordCodec<Long>() {
+      @Override
+      public int width() {
+        return Long.BYTES;
+      }
+
+      @Override
+      public void encode(Long element, ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, element);
+      }
+
+      @Override
+      public Long decode(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+      }
+
+      @Override
+      public int compare(ByteBuffer left, int leftOffset, ByteBuffer right,
+          int rightOffset) {
+        return Long.compare(left.getLong(leftOffset),
+            right.getLong(rightOffset));
+      }
+    };
+  }
+}
@@ -0,0 +1,70 @@
+package Array;
+
+/*
+ * A view of a contiguous range of a list or array, indexed from 0.
+ *
+ * A slice reads and writes the storage of its parent directly and copies
+ * nothing. Writing an element with set is visible in the parent and in
+ * every overlapping slice. Any structural modification of the parent, such
+ * as an insertion, a removal or a sort, invalidates the slice: every later
+ * call on it, or on an iterator over it, throws
+ * ConcurrentModificationException.
+ */
+public interface Slice<T extends Comparable<T>> extends Iterable<T> {
+
+  /*
+   * Retrieves an element at the specified index of the slice.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The element that was retrieved.
+   */
+  T get(int index);
+
+  /*
+   * Replaces an element at the specified index of the slice, writing
+   * through to the parent.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be stored at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @throws UnsupportedOperationException if the slice is read-only.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The element previously at the specified index.
+   */
+  T set(int index, T element);
+
+  /*
+   * Returns the number of elements in the slice.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return The number of elements in the slice.
+   */
+  int size();
+
+  /*
+   * Checks if the slice is empty.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return true if the slice is empty, false otherwise.
+   */
+  boolean isEmpty();
+
+  /*
+   * Returns a view of a range of this slice, from the given fromIndex
+   * (inclusive) to the given toIndex (exclusive). It shares this slice's
+   * parent and is invalidated together with it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return A view of the specified range.
+   */
+  Slice<T> slice(int fromIndex, int toIndex);
+
+  /*
+   * Returns a copy of the elements in the slice.
+   * @throws ConcurrentModificationException if the parent was modified.
+   * @return An array containing the elements in the slice.
+   */
+  T[] toArray();
+}
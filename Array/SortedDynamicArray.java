@@ -0,0 +1,335 @@
+package Array;
+
+import java.util.Iterator;
+
+/*
+ * A dynamic array that keeps its elements sorted and free of duplicates.
+ *
+ * The elements live in a DynamicArray in ascending order. Lookups binary
+ * search the array directly, so they take O(log n) and copy nothing.
+ * Inserting or removing a single element binary searches for its position
+ * and shifts the tail with one arraycopy. Bulk loads append everything,
+ * sort once with the adaptive merge sort, which merges the existing sorted
+ * run with the new elements, and then drop duplicates in a single pass.
+ *
+ * Elements are compared with compareTo, so two elements are duplicates when
+ * compareTo returns 0.
+ */
+public class SortedDynamicArray<T extends Comparable<T>> implements Iterable<T> {
+
+  // Instance variables
+
+  /*
+   * The elements, in ascending order.
+   */
+  private final DynamicArray<T> data;
+
+  // Constructors
+
+  /*
+   * Constructs a new, empty sorted dynamic array.
+   */
+  public SortedDynamicArray() {
+    this.data = new DynamicArray<>();
+  }
+
+  /*
+   * Constructs a new, empty sorted dynamic array with the given initial
+   * capacity.
+   * @param initialCapacity The initial capacity of the array.
+   * @throws IllegalArgumentException if initialCapacity < 0.
+   */
+  public SortedDynamicArray(int initialCapacity) {
+    this.data = new DynamicArray<>(initialCapacity);
+  }
+
+  /*
+   * Constructs a new, empty sorted dynamic array with the given growth
+   * policy.
+   * @param growthPolicy The policy deciding how the array grows and shrinks.
+   * @throws IllegalArgumentException if growthPolicy is null.
+   */
+  public SortedDynamicArray(GrowthPolicy growthPolicy) {
+    this.data = new DynamicArray<>(growthPolicy);
+  }
+
+  // Methods
+
+  /*
+   * Inserts an element at its sorted position, unless an equal element is
+   * already present.
+   * @param element The element to be added.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was added, false if it was already present.
+   */
+  public boolean add(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = lowerBound(element);
+    if (index < this.data.size() && this.data.get(index).compareTo(element) == 0) {
+      return false;
+    }
+    this.data.add(index, element);
+    return true;
+  }
+
+  /*
+   * Adds all elements of the given array, skipping duplicates. The elements
+   * are appended, sorted once together with the existing ones, and then
+   * deduplicated in a single pass.
+   * @param elements The elements to be added.
+   * @throws IllegalArgumentException if elements or any of its elements is
+   *         null.
+   */
+  public void addAll(T[] elements) {
+    if (elements == null) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    if (elements.length == 0) {
+      return;
+    }
+    this.data.addAll(elements);
+    this.data.mergeSort();
+    int size = this.data.size();
+    int kept = 1;
+    T previous = this.data.get(0);
+    for (int i = 1; i < size; i++) {
+      T element = this.data.get(i);
+      if (element.compareTo(previous) != 0) {
+        if (kept != i) {
+          this.data.set(kept, element);
+        }
+        kept++;
+        previous = element;
+      }
+    }
+    this.data.removeRange(kept, size);
+  }
+
+  /*
+   * Removes the element equal to the given one, if present.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  public boolean remove(T element) {
+    int index = indexOf(element);
+    if (index == -1) {
+      return false;
+    }
+    this.data.remove(index);
+    return true;
+  }
+
+  /*
+   * Retrieves the element at the specified index, the index-th smallest.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  public T get(int index) {
+    return this.data.get(index);
+  }
+
+  /*
+   * Finds the index of the element equal to the given one.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the element, or -1 if not found.
+   */
+  public int indexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = lowerBound(element);
+    if (index < this.data.size() && this.data.get(index).compareTo(element) == 0) {
+      return index;
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the array contains an element equal to the given one.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the array contains the element, false otherwise.
+   */
+  public boolean contains(T element) {
+    return indexOf(element) != -1;
+  }
+
+  /*
+   * Returns the greatest element less than or equal to the given one.
+   * @param element The element to be compared against.
+   * @throws IllegalArgumentException if element is null.
+   * @return The floor of the element, or null if there is none.
+   */
+  public T floor(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = upperBound(element) - 1;
+    return index < 0 ? null : this.data.get(index);
+  }
+
+  /*
+   * Returns the least element greater than or equal to the given one.
+   * @param element The element to be compared against.
+   * @throws IllegalArgumentException if element is null.
+   * @return The ceiling of the element, or null if there is none.
+   */
+  public T ceiling(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = lowerBound(element);
+    return index == this.data.size() ? null : this.data.get(index);
+  }
+
+  /*
+   * Returns the smallest element.
+   * @return The first element, or null if the array is empty.
+   */
+  public T first() {
+    return this.data.isEmpty() ? null : this.data.get(0);
+  }
+
+  /*
+   * Returns the largest element.
+   * @return The last element, or null if the array is empty.
+   */
+  public T last() {
+    return this.data.isEmpty() ? null : this.data.get(this.data.size() - 1);
+  }
+
+  /*
+   * Counts the elements from the given fromElement (inclusive) to the given
+   * toElement (exclusive).
+   * @param fromElement The low end of the range (inclusive).
+   * @param toElement The high end of the range (exclusive).
+   * @throws IllegalArgumentException if either element is null, or
+   *         fromElement is greater than toElement.
+   * @return The number of elements in the range.
+   */
+  public int rangeCount(T fromElement, T toElement) {
+    checkRange(fromElement, toElement);
+    return lowerBound(toElement) - lowerBound(fromElement);
+  }
+
+  /*
+   * Returns a view of the elements from the given fromElement (inclusive)
+   * to the given toElement (exclusive), in ascending order. Iterating the
+   * view reads the backing array directly and copies nothing. The bounds
+   * are located when an iterator is created, and the iterator fails fast
+   * if the array is modified other than through it.
+   * @param fromElement The low end of the range (inclusive).
+   * @param toElement The high end of the range (exclusive).
+   * @throws IllegalArgumentException if either element is null, or
+   *         fromElement is greater than toElement.
+   * @return An iterable over the elements in the range.
+   */
+  public Iterable<T> subRange(T fromElement, T toElement) {
+    checkRange(fromElement, toElement);
+    return () -> this.data.iterator(lowerBound(fromElement),
+        lowerBound(toElement));
+  }
+
+  /*
+   * Returns the number of elements in the array.
+   * @return The number of elements in the array.
+   */
+  public int size() {
+    return this.data.size();
+  }
+
+  /*
+   * Checks if the array is empty.
+   * @return true if the array is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return this.data.isEmpty();
+  }
+
+  /*
+   * Removes all elements from the array.
+   */
+  public void clear() {
+    this.data.clear();
+  }
+
+  /*
+   * Returns an iterator over the elements in ascending order. The iterator
+   * supports remove and fails fast on concurrent modification.
+   * @return An iterator over the elements in the array.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return this.data.iterator();
+  }
+
+  /*
+   * Returns an array representation of the elements, in ascending order.
+   * @return An array containing the elements in the array.
+   */
+  public T[] toArray() {
+    return this.data.toArray();
+  }
+
+  // Helper methods
+
+  /*
+   * Finds the first index whose element is not less than the given one.
+   * @param element The element to be compared against.
+   * @return The index, or size() if every element is less.
+   */
+  private int lowerBound(T element) {
+    int low = 0;
+    int high = this.data.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.data.get(mid).compareTo(element) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /*
+   * Finds the first index whose element is greater than the given one.
+   * @param element The element to be compared against.
+   * @return The index, or size() if no element is greater.
+   */
+  private int upperBound(T element) {
+    int low = 0;
+    int high = this.data.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.data.get(mid).compareTo(element) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /*
+   * Checks the bounds of a range.
+   * @param fromElement The low end of the range.
+   * @param toElement The high end of the range.
+   * @throws IllegalArgumentException if either element is null, or
+   *         fromElement is greater than toElement.
+   */
+  private void checkRange(T fromElement, T toElement) {
+    if (fromElement == null || toElement == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (fromElement.compareTo(toElement) > 0) {
+      throw new IllegalArgumentException(
+          "Range start cannot be greater than range end");
+    }
+  }
+}
@@ -1,5 +1,11 @@
 package LinkedList;
 
+import Array.AbstractSlice;
+import Array.Slice;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /*
  * A class for a doubly linked list data structure.
  */
@@ -23,15 +29,82 @@ implements LinkedListInterface<T> {
    */
   private DoublyLinkedListNode<T> tail;
 
+  /*
+   * The node last reached by an indexed access, or null if there is none.
+   * Indexed accesses start walking from whichever of the head, the tail
+   * and this node is closest, so a loop over nearby indexes is linear
+   * overall.
+   */
+  private DoublyLinkedListNode<T> cursor;
+
+  /*
+   * The index of the cursor node.
+   */
+  private int cursorIndex;
+
+  /*
+   * The number of structural modifications, used to invalidate slices.
+   */
+  private int modCount;
+
+  /*
+   * Detached nodes kept for reuse, linked through their next pointers, or
+   * null if there are none.
+   */
+  private DoublyLinkedListNode<T> pool;
+
+  /*
+   * The number of nodes in the pool.
+   */
+  private int poolSize;
+
+  /*
+   * The most nodes the pool may hold. Zero turns recycling off.
+   */
+  private final int poolCapacity;
+
+  /*
+   * The number of nodes taken from the pool instead of allocated.
+   */
+  private long poolHits;
+
+  /*
+   * The number of nodes allocated while recycling is on because the pool
+   * was empty.
+   */
+  private long poolMisses;
+
   // Constructor
 
   /*
-   * Constructor for the DoublyLinkedList class.
+   * Constructor for the DoublyLinkedList class. The list does not recycle
+   * nodes.
    */
   public DoublyLinkedList() {
+    this(0);
+  }
+
+  /*
+   * Constructs a new empty doubly linked list that keeps up to the given
+   * number of removed nodes and reuses them for later additions, so steady
+   * queue traffic allocates no nodes.
+   * @param poolCapacity The most removed nodes kept for reuse, or 0 to turn
+   *        recycling off.
+   * @throws IllegalArgumentException if poolCapacity < 0.
+   */
+  public DoublyLinkedList(int poolCapacity) {
+    if (poolCapacity < 0) {
+      throw new IllegalArgumentException("Pool capacity cannot be negative");
+    }
     this.size = 0;
     this.head = null;
     this.tail = null;
+    this.cursor = null;
+    this.cursorIndex = 0;
+    this.modCount = 0;
+    this.pool = null;
+    this.poolSize = 0;
+    this.poolCapacity = poolCapacity;
   }
 
   // Methods
@@ -56,8 +129,7 @@ implements LinkedListInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
-    DoublyLinkedListNode<T> newNode = new DoublyLinkedListNode<>();
-    newNode.setData(element);
+    DoublyLinkedListNode<T> newNode = newNode(element);
     if (this.isEmpty()) {
       this.head = newNode;
       this.tail = newNode;
@@ -66,7 +138,9 @@ implements LinkedListInterface<T> {
       this.head.setPrev(newNode);
       this.head = newNode;
     }
+    this.cursorIndex++;
     this.size++;
+    this.modCount++;
   }
 
   /*
@@ -89,8 +163,7 @@ implements LinkedListInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
-    DoublyLinkedListNode<T> newNode = new DoublyLinkedListNode<>();
-    newNode.setData(element);
+    DoublyLinkedListNode<T> newNode = newNode(element);
     if (isEmpty()) {
       this.head = newNode;
       this.tail = newNode;
@@ -100,6 +173,7 @@ implements LinkedListInterface<T> {
       this.tail = newNode;
     }
     this.size++;
+    this.modCount++;
   }
 
   /*
@@ -124,25 +198,14 @@ implements LinkedListInterface<T> {
     } else if (index == this.size) {
       addLast(element);
     } else {
-      DoublyLinkedListNode<T> newNode = new DoublyLinkedListNode<>();
-      newNode.setData(element);
-      DoublyLinkedListNode<T> current;
-      if (index < this.size / 2) {
-        current = this.head;
-        for (int i = 0; i < index - 1; i++) {
-          current = (DoublyLinkedListNode<T>) current.getNext();
-        }
-      } else {
-        current = this.tail;
-        for (int i = this.size - 1; i > index; i--) {
-          current = (DoublyLinkedListNode<T>) current.getPrev();
-        }
-      }
+      DoublyLinkedListNode<T> newNode = newNode(element);
+      DoublyLinkedListNode<T> current = node(index - 1);
       newNode.setNext(current.getNext());
       newNode.setPrev(current);
       ((DoublyLinkedListNode<T>) current.getNext()).setPrev(newNode);
       current.setNext(newNode);
       this.size++;
+      this.modCount++;
     }
   }
 
@@ -151,9 +214,18 @@ implements LinkedListInterface<T> {
    */
   @Override
   public void clear() {
+    this.modCount++;
+    DoublyLinkedListNode<T> current = this.head;
+    while (current != null && this.poolSize < this.poolCapacity) {
+      DoublyLinkedListNode<T> next =
+          (DoublyLinkedListNode<T>) current.getNext();
+      recycle(current);
+      current = next;
+    }
     this.size = 0;
     this.head = null;
     this.tail = null;
+    this.cursor = null;
   }
 
   /*
@@ -221,19 +293,7 @@ implements LinkedListInterface<T> {
     if (!checkIndexExclusive(index)) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
-    DoublyLinkedListNode<T> current;
-    if (index < this.size / 2) {
-      current = this.head;
-      for (int i = 0; i < index; i++) {
-        current = (DoublyLinkedListNode<T>) current.getNext();
-      }
-    } else {
-      current = this.tail;
-      for (int i = this.size - 1; i > index; i--) {
-        current = (DoublyLinkedListNode<T>) current.getPrev();
-      }
-    }
-    return current.getData();
+    return node(index).getData();
   }
 
   /*
@@ -302,14 +362,22 @@ implements LinkedListInterface<T> {
     if (isEmpty()) {
       return null;
     }
-    T data = this.head.getData();
-    this.head = (DoublyLinkedListNode<T>) this.head.getNext();
+    DoublyLinkedListNode<T> removedNode = this.head;
+    T data = removedNode.getData();
+    if (this.cursor == removedNode) {
+      this.cursor = null;
+    } else {
+      this.cursorIndex--;
+    }
+    this.head = (DoublyLinkedListNode<T>) removedNode.getNext();
     if (this.head != null) {
       this.head.setPrev(null);
     } else {
       this.tail = null;
     }
     this.size--;
+    this.modCount++;
+    recycle(removedNode);
     return data;
   }
 
@@ -331,14 +399,20 @@ implements LinkedListInterface<T> {
     if (isEmpty()) {
       return null;
     }
-    T data = this.tail.getData();
-    this.tail = (DoublyLinkedListNode<T>) this.tail.getPrev();
+    DoublyLinkedListNode<T> removedNode = this.tail;
+    T data = removedNode.getData();
+    if (this.cursor == removedNode) {
+      this.cursor = null;
+    }
+    this.tail = (DoublyLinkedListNode<T>) removedNode.getPrev();
     if (this.tail != null) {
       this.tail.setNext(null);
     } else {
       this.head = null;
     }
     this.size--;
+    this.modCount++;
+    recycle(removedNode);
     return data;
   }
 
@@ -358,22 +432,15 @@ implements LinkedListInterface<T> {
     } else if (index == this.size - 1) {
       return removeLast();
     } else {
-      DoublyLinkedListNode<T> current;
-      if (index < this.size / 2) {
-        current = this.head;
-        for (int i = 0; i < index; i++) {
-          current = (DoublyLinkedListNode<T>) current.getNext();
-        }
-      } else {
-        current = this.tail;
-        for (int i = this.size - 1; i > index; i--) {
-          current = (DoublyLinkedListNode<T>) current.getPrev();
-        }
-      }
+      DoublyLinkedListNode<T> current = node(index);
       T data = current.getData();
       current.getPrev().setNext(current.getNext());
       current.getNext().setPrev(current.getPrev());
+      this.cursor = (DoublyLinkedListNode<T>) current.getPrev();
+      this.cursorIndex = index - 1;
       this.size--;
+      this.modCount++;
+      recycle(current);
       return data;
     }
   }
@@ -442,18 +509,7 @@ implements LinkedListInterface<T> {
     if (!checkIndexExclusive(index)) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
-    DoublyLinkedListNode<T> current;
-    if (index < this.size / 2) {
-      current = this.head;
-      for (int i = 0; i < index; i++) {
-        current = (DoublyLinkedListNode<T>) current.getNext();
-      }
-    } else {
-      current = this.tail;
-      for (int i = this.size - 1; i > index; i--) {
-        current = (DoublyLinkedListNode<T>) current.getPrev();
-      }
-    }
+    DoublyLinkedListNode<T> current = node(index);
     T oldData = current.getData();
     current.setData(element);
     return oldData;
@@ -501,8 +557,11 @@ implements LinkedListInterface<T> {
     if (isEmpty()) {
       return;
     }
+    this.modCount++;
+    this.cursorIndex = this.size - 1 - this.cursorIndex;
     DoublyLinkedListNode<T> current = this.head;
     DoublyLinkedListNode<T> temp = null;
+    this.head = this.tail;
     this.tail = current;
     while (current != null) {
       temp = (DoublyLinkedListNode<T>) current.getPrev();
@@ -510,7 +569,6 @@ implements LinkedListInterface<T> {
       current.setNext(temp);
       current = (DoublyLinkedListNode<T>) current.getPrev();
     }
-    this.head = temp;
   }
 
   /*
@@ -555,26 +613,64 @@ implements LinkedListInterface<T> {
   @Override
   @SuppressWarnings("unchecked")
   public T[] toSubArray(int fromIndex, int toIndex) {
-    if (!checkIndexInclusive(fromIndex) || !checkIndexExclusive(toIndex) 
+    if (!checkIndexInclusive(fromIndex) || !checkIndexInclusive(toIndex)
     || fromIndex > toIndex) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
-    if (isEmpty()) {
-      return null;
-    }
     T[] array = (T[]) new Comparable[toIndex - fromIndex];
-    DoublyLinkedListNode<T> current = this.head;
-    int index = 0;
-    while (current != null && index < toIndex) {
-      if (index >= fromIndex) {
-        array[index - fromIndex] = current.getData();
-      }
+    if (fromIndex == toIndex) {
+      return array;
+    }
+    DoublyLinkedListNode<T> current = node(fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i - fromIndex] = current.getData();
       current = (DoublyLinkedListNode<T>) current.getNext();
-      index++;
     }
     return array;
   }
 
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view holds the first node of the
+   * range, so iterating it walks only the range and copies nothing. Setting
+   * an element through the view writes the node. Any structural
+   * modification of the list invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    DoublyLinkedListNode<T> first = null;
+    if (fromIndex < toIndex) {
+      first = node(fromIndex);
+    }
+    return new ListSlice(first, toIndex - fromIndex, this.modCount);
+  }
+
+  /*
+   * Returns the number of nodes taken from the recycling pool instead of
+   * allocated.
+   * @return The number of pool hits.
+   */
+  public long getPoolHits() {
+    return this.poolHits;
+  }
+
+  /*
+   * Returns the number of nodes allocated while recycling is on because the
+   * pool was empty. Zero if recycling is off.
+   * @return The number of pool misses.
+   */
+  public long getPoolMisses() {
+    return this.poolMisses;
+  }
+
   // Helper methods
 
   /*
@@ -595,6 +691,199 @@ implements LinkedListInterface<T> {
     return index >= 0 && index <= size;
   }
 
+  /*
+   * Returns the node at the given index, walking from whichever of the
+   * head, the tail and the cursor is closest, and moves the cursor there.
+   * @param index The index of the node, in range [0, size).
+   * @return The node at that index.
+   */
+  private DoublyLinkedListNode<T> node(int index) {
+    DoublyLinkedListNode<T> current = this.head;
+    int i = 0;
+    int distance = index;
+    if (this.size - 1 - index < distance) {
+      current = this.tail;
+      i = this.size - 1;
+      distance = this.size - 1 - index;
+    }
+    if (this.cursor != null && Math.abs(index - this.cursorIndex) < distance) {
+      current = this.cursor;
+      i = this.cursorIndex;
+    }
+    for (; i < index; i++) {
+      current = (DoublyLinkedListNode<T>) current.getNext();
+    }
+    for (; i > index; i--) {
+      current = (DoublyLinkedListNode<T>) current.getPrev();
+    }
+    this.cursor = current;
+    this.cursorIndex = index;
+    return current;
+  }
+
+  /*
+   * Returns a node holding the given element, taken from the pool if it
+   * has one and allocated otherwise.
+   * @param element The element the node should hold.
+   * @return The node.
+   */
+  private DoublyLinkedListNode<T> newNode(T element) {
+    DoublyLinkedListNode<T> node = this.pool;
+    if (node != null) {
+      this.pool = (DoublyLinkedListNode<T>) node.getNext();
+      node.setNext(null);
+      this.poolSize--;
+      this.poolHits++;
+    } else {
+      node = new DoublyLinkedListNode<>();
+      if (this.poolCapacity > 0) {
+        this.poolMisses++;
+      }
+    }
+    node.setData(element);
+    return node;
+  }
+
+  /*
+   * Puts a node that was unlinked from the list into the pool if there is
+   * room, clearing its fields so it does not keep garbage alive.
+   * @param node The unlinked node.
+   */
+  private void recycle(DoublyLinkedListNode<T> node) {
+    if (this.poolSize < this.poolCapacity) {
+      node.setData(null);
+      node.setPrev(null);
+      node.setNext(this.pool);
+      this.pool = node;
+      this.poolSize++;
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the list, starting at a given node. Reading the
+   * element at index i walks i nodes from the start of the range, and the
+   * iterator walks the range once.
+   */
+  private class ListSlice extends AbstractSlice<T> {
+
+    /*
+     * The first node of the range, or null if the range is empty.
+     */
+    private final DoublyLinkedListNode<T> first;
+
+    /*
+     * The modCount of the list when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given node.
+     * @param first The first node of the range.
+     * @param length The number of elements in the range.
+     * @param expectedModCount The modCount of the list.
+     */
+    ListSlice(DoublyLinkedListNode<T> first, int length, int expectedModCount) {
+      super(length);
+      this.first = first;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return node(index).getData();
+    }
+
+    /*
+     * Writes the element at the given index of the slice into its node.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      DoublyLinkedListNode<T> node = node(index);
+      T oldData = node.getData();
+      node.setData(element);
+      return oldData;
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      DoublyLinkedListNode<T> start =
+          fromIndex < toIndex ? node(fromIndex) : null;
+      return new ListSlice(start, toIndex - fromIndex, this.expectedModCount);
+    }
+
+    /*
+     * Throws if the list was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the list was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns an iterator that walks the nodes of the range once.
+     * @return An iterator over the elements in the slice.
+     */
+    @Override
+    public Iterator<T> iterator() {
+      int length = size();
+      return new Iterator<T>() {
+        private DoublyLinkedListNode<T> current = first;
+        private int remaining = length;
+
+        @Override
+        public boolean hasNext() {
+          return this.remaining > 0;
+        }
+
+        @Override
+        public T next() {
+          checkForComodification();
+          if (this.remaining == 0) {
+            throw new NoSuchElementException();
+          }
+          T data = this.current.getData();
+          this.current = (DoublyLinkedListNode<T>) this.current.getNext();
+          this.remaining--;
+          return data;
+        }
+      };
+    }
+
+    /*
+     * Returns the node at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The node at that index.
+     */
+    private DoublyLinkedListNode<T> node(int index) {
+      DoublyLinkedListNode<T> current = this.first;
+      for (int i = 0; i < index; i++) {
+        current = (DoublyLinkedListNode<T>) current.getNext();
+      }
+      return current;
+    }
+  }
+
   // Node class
 
   private class DoublyLinkedListNode<T extends Comparable<T>> 
@@ -0,0 +1,868 @@
+package LinkedList;
+
+import Array.AbstractSlice;
+import Array.Slice;
+import Sort.InsertionSort;
+import Sort.MergeSort;
+import Sort.QuickSort;
+import Sort.SelectionSort;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * A list kept in an indexable skip list, so positional get, set, add and
+ * remove all take O(log n) expected time.
+ *
+ * Every node is on the bottom level, which links the elements in list
+ * order. Each node is also on a random number of higher levels, a quarter
+ * as many nodes per level up, and every link records its span: how many
+ * positions it skips. Finding an index walks each level as far as the spans
+ * allow without passing it and then drops a level, and inserting or
+ * removing adjusts the spans of the one link per level that crosses the
+ * position. The order of the elements is only ever the order they were
+ * placed in; nothing is compared except by the sort methods.
+ */
+public class IndexableSkipList<T extends Comparable<T>>
+implements LinkedListInterface<T>, Iterable<T> {
+
+  // Instance Variables
+
+  /*
+   * The number of elements in the list.
+   */
+  private int size;
+
+  /*
+   * The sentinel node before the first element, present on every level.
+   */
+  private final SkipNode<T> head;
+
+  /*
+   * The last node of the list, or null if the list is empty.
+   */
+  private SkipNode<T> tail;
+
+  /*
+   * The number of levels in use, at least 1.
+   */
+  private int level;
+
+  /*
+   * The number of structural modifications, used to invalidate slices and
+   * iterators.
+   */
+  private int modCount;
+
+  /*
+   * The most levels a node can be on. With a quarter of the nodes promoted
+   * per level, this is enough for any int-indexed list.
+   */
+  private static final int MAX_LEVEL = 16;
+
+  // Constructor
+
+  /*
+   * Constructs a new, empty indexable skip list.
+   */
+  public IndexableSkipList() {
+    this.size = 0;
+    this.head = new SkipNode<>(null, MAX_LEVEL);
+    this.tail = null;
+    this.level = 1;
+    this.modCount = 0;
+    this.head.span[0] = 1;
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the top of the list. Same as addFirst.
+   * @param element The element to be added to the top of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void push(T element) {
+    addFirst(element);
+  }
+
+  /*
+   * Adds an element to the front of the list. Same as push.
+   * @param element The element to be added to the front of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addFirst(T element) {
+    add(0, element);
+  }
+
+  /*
+   * Adds an element to the back of the list. Same as addLast.
+   * @param element The element to be added to the back of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void offer(T element) {
+    addLast(element);
+  }
+
+  /*
+   * Adds an element to the back of the list. Same as offer.
+   * @param element The element to be added to the back of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addLast(T element) {
+    add(this.size, element);
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the list, the element should be added to the back of the list.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void add(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    SkipNode<T>[] update = (SkipNode<T>[]) new SkipNode[MAX_LEVEL];
+    int[] rank = new int[MAX_LEVEL];
+    SkipNode<T> current = this.head;
+    int position = 0;
+    for (int l = this.level - 1; l >= 0; l--) {
+      while (current.next[l] != null && position + current.span[l] <= index) {
+        position += current.span[l];
+        current = current.next[l];
+      }
+      update[l] = current;
+      rank[l] = position;
+    }
+    int nodeLevel = randomLevel();
+    for (int l = this.level; l < nodeLevel; l++) {
+      update[l] = this.head;
+      rank[l] = 0;
+      this.head.span[l] = this.size + 1;
+    }
+    this.level = Math.max(this.level, nodeLevel);
+    SkipNode<T> node = new SkipNode<>(element, nodeLevel);
+    for (int l = 0; l < nodeLevel; l++) {
+      SkipNode<T> previous = update[l];
+      node.next[l] = previous.next[l];
+      node.span[l] = previous.span[l] - (index - rank[l]);
+      previous.next[l] = node;
+      previous.span[l] = index - rank[l] + 1;
+    }
+    for (int l = nodeLevel; l < this.level; l++) {
+      update[l].span[l]++;
+    }
+    if (node.next[0] == null) {
+      this.tail = node;
+    }
+    this.size++;
+    this.modCount++;
+  }
+
+  /*
+   * Removes all elements from the list.
+   */
+  @Override
+  public void clear() {
+    this.modCount++;
+    for (int l = 0; l < this.level; l++) {
+      this.head.next[l] = null;
+    }
+    this.head.span[0] = 1;
+    this.level = 1;
+    this.size = 0;
+    this.tail = null;
+  }
+
+  /*
+   * Checks if the list contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the list contains the given element, false otherwise.
+   */
+  @Override
+  public boolean contains(T element) {
+    return firstIndexOf(element) >= 0;
+  }
+
+  /*
+   * Retrieves the head (first element) of the list. Same as getFirst.
+   * @return The head of the list, or null if empty.
+   */
+  @Override
+  public T peek() {
+    return getFirst();
+  }
+
+  /*
+   * Retrieves the head (first element) of the list. Same as peek.
+   * @return The head of the list, or null if empty.
+   */
+  @Override
+  public T getFirst() {
+    if (isEmpty()) {
+      return null;
+    }
+    return this.head.next[0].data;
+  }
+
+  /*
+   * Retrieves the tail (last element) of the list.
+   * @return The tail of the list, or null if empty.
+   */
+  @Override
+  public T getLast() {
+    if (isEmpty()) {
+      return null;
+    }
+    return this.tail.data;
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return node(index).data;
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to find found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int index = 0;
+    for (SkipNode<T> node = this.head.next[0]; node != null;
+        node = node.next[0]) {
+      if (node.data.equals(element)) {
+        return index;
+      }
+      index++;
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int lastIndex = -1;
+    int index = 0;
+    for (SkipNode<T> node = this.head.next[0]; node != null;
+        node = node.next[0]) {
+      if (node.data.equals(element)) {
+        lastIndex = index;
+      }
+      index++;
+    }
+    return lastIndex;
+  }
+
+  /*
+   * Removes the element at the head of the list. Same as removeFirst.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T poll() {
+    return removeFirst();
+  }
+
+  /*
+   * Removes the element at the head of the list. Same as poll.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T removeFirst() {
+    if (isEmpty()) {
+      return null;
+    }
+    return removeAt(0);
+  }
+
+  /*
+   * Removes the element at the tail of the list. Same as removeLast.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T pop() {
+    return removeLast();
+  }
+
+  /*
+   * Removes the element at the tail of the list. Same as pop.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T removeLast() {
+    if (isEmpty()) {
+      return null;
+    }
+    return removeAt(this.size - 1);
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  @Override
+  public T remove(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return removeAt(index);
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeFirstOccurrence(T element) {
+    int index = firstIndexOf(element);
+    if (index < 0) {
+      return false;
+    }
+    removeAt(index);
+    return true;
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeLastOccurrence(T element) {
+    int index = lastIndexOf(element);
+    if (index < 0) {
+      return false;
+    }
+    removeAt(index);
+    return true;
+  }
+
+  /*
+   * Replaces the element at the specified index with the given element.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be stored at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @return The element previously at the specified index.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    SkipNode<T> node = node(index);
+    T oldData = node.data;
+    node.data = element;
+    return oldData;
+  }
+
+  /*
+   * Returns the number of elements in the list.
+   * @return The number of elements in the list.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using merge sort.
+   * The elements are sorted in an array and written back, so the nodes
+   * and their levels stay as they are.
+   */
+  @Override
+  public void mergeSort() {
+    T[] array = toArray();
+    new MergeSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using insertion sort.
+   */
+  @Override
+  public void insertionSort() {
+    T[] array = toArray();
+    new InsertionSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using selection sort.
+   */
+  @Override
+  public void selectionSort() {
+    T[] array = toArray();
+    new SelectionSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using quick sort.
+   */
+  @Override
+  public void quickSort() {
+    T[] array = toArray();
+    new QuickSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Reverses the order of the elements in the list. The elements are
+   * written back in reverse order, so the nodes and their levels stay as
+   * they are.
+   */
+  @Override
+  public void reverse() {
+    T[] array = toArray();
+    for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+      T temp = array[i];
+      array[i] = array[j];
+      array[j] = temp;
+    }
+    copyIn(array);
+  }
+
+  /*
+   * Checks if the list is empty.
+   * @return true if the list is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /*
+   * Returns an array representation of the elements in the list.
+   * @return An array containing the elements in the list.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toArray() {
+    T[] array = (T[]) new Comparable[this.size];
+    SkipNode<T> node = this.head.next[0];
+    for (int i = 0; i < this.size; i++) {
+      array[i] = node.data;
+      node = node.next[0];
+    }
+    return array;
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An array containing the elements in the specified range.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toSubArray(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T[] array = (T[]) new Comparable[toIndex - fromIndex];
+    if (fromIndex == toIndex) {
+      return array;
+    }
+    SkipNode<T> node = node(fromIndex);
+    for (int i = 0; i < array.length; i++) {
+      array[i] = node.data;
+      node = node.next[0];
+    }
+    return array;
+  }
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). Reading or writing an element of the
+   * view finds its node in O(log n), and iterating the view walks only the
+   * range. Nothing is copied. Any structural modification of the list
+   * invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return new ListSlice(fromIndex, toIndex - fromIndex, this.modCount);
+  }
+
+  /*
+   * Returns a fail-fast iterator over the elements in the list, walking the
+   * bottom level.
+   * @return An iterator over the elements in the list.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new NodeIterator();
+  }
+
+  // Helper methods
+
+  /*
+   * Checks if the given index is in range [0, size).
+   * @param index The index to be checked.
+   * @returns true if the index is valid, false otherwise.
+   */
+  private boolean checkIndexExclusive(int index) {
+    return index >= 0 && index < this.size;
+  }
+
+  /*
+   * Checks if the given index is in range [0, size].
+   * @param index The index to be checked.
+   * @returns true if the index is valid, false otherwise.
+   */
+  private boolean checkIndexInclusive(int index) {
+    return index >= 0 && index <= this.size;
+  }
+
+  /*
+   * Returns the node at the given index, following each level as far as
+   * its spans allow before dropping to the next.
+   * @param index The index of the node, in range [0, size).
+   * @return The node at that index.
+   */
+  private SkipNode<T> node(int index) {
+    SkipNode<T> current = this.head;
+    int position = 0;
+    int target = index + 1;
+    for (int l = this.level - 1; l >= 0; l--) {
+      while (current.next[l] != null
+          && position + current.span[l] <= target) {
+        position += current.span[l];
+        current = current.next[l];
+      }
+      if (position == target) {
+        break;
+      }
+    }
+    return current;
+  }
+
+  /*
+   * Removes the element at the given index, joining the links on every
+   * level that pointed at its node and shortening the spans of the links
+   * that crossed it.
+   * @param index The index of the element, in range [0, size).
+   * @return The element that was removed.
+   */
+  @SuppressWarnings("unchecked")
+  private T removeAt(int index) {
+    SkipNode<T>[] update = (SkipNode<T>[]) new SkipNode[MAX_LEVEL];
+    SkipNode<T> current = this.head;
+    int position = 0;
+    for (int l = this.level - 1; l >= 0; l--) {
+      while (current.next[l] != null && position + current.span[l] <= index) {
+        position += current.span[l];
+        current = current.next[l];
+      }
+      update[l] = current;
+    }
+    SkipNode<T> node = update[0].next[0];
+    for (int l = 0; l < this.level; l++) {
+      SkipNode<T> previous = update[l];
+      if (previous.next[l] == node) {
+        previous.span[l] += node.span[l] - 1;
+        previous.next[l] = node.next[l];
+      } else {
+        previous.span[l]--;
+      }
+    }
+    while (this.level > 1 && this.head.next[this.level - 1] == null) {
+      this.level--;
+    }
+    if (node == this.tail) {
+      this.tail = update[0] == this.head ? null : update[0];
+    }
+    this.size--;
+    this.modCount++;
+    return node.data;
+  }
+
+  /*
+   * Picks the number of levels for a new node: one, plus one more with
+   * probability 1/4 each time, up to MAX_LEVEL.
+   * @return The number of levels.
+   */
+  private static int randomLevel() {
+    int random = ThreadLocalRandom.current().nextInt();
+    int level = 1;
+    while (level < MAX_LEVEL && (random & 3) == 0) {
+      random >>>= 2;
+      level++;
+    }
+    return level;
+  }
+
+  /*
+   * Writes the elements of the given array over the elements of the list in
+   * order, keeping the nodes as they are.
+   * @param array The elements, as many as the list holds.
+   */
+  private void copyIn(T[] array) {
+    this.modCount++;
+    SkipNode<T> node = this.head.next[0];
+    for (int i = 0; i < array.length; i++) {
+      node.data = array[i];
+      node = node.next[0];
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the list. Reads and writes find the node through
+   * the levels of the list, and the iterator walks the bottom level once.
+   */
+  private class ListSlice extends AbstractSlice<T> {
+
+    /*
+     * The index in the list of the first element of the slice.
+     */
+    private final int offset;
+
+    /*
+     * The modCount of the list when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given index.
+     * @param offset The index in the list of the first element.
+     * @param length The number of elements in the range.
+     * @param expectedModCount The modCount of the list.
+     */
+    ListSlice(int offset, int length, int expectedModCount) {
+      super(length);
+      this.offset = offset;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return node(this.offset + index).data;
+    }
+
+    /*
+     * Writes the element at the given index of the slice into its node.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      SkipNode<T> node = node(this.offset + index);
+      T oldData = node.data;
+      node.data = element;
+      return oldData;
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      return new ListSlice(this.offset + fromIndex, toIndex - fromIndex,
+          this.expectedModCount);
+    }
+
+    /*
+     * Throws if the list was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the list was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns an iterator that finds the first node of the range once and
+     * then walks the bottom level.
+     * @return An iterator over the elements in the slice.
+     */
+    @Override
+    public Iterator<T> iterator() {
+      checkForComodification();
+      int length = size();
+      SkipNode<T> first = length == 0 ? null : node(this.offset);
+      return new Iterator<T>() {
+        private SkipNode<T> current = first;
+        private int remaining = length;
+
+        @Override
+        public boolean hasNext() {
+          return this.remaining > 0;
+        }
+
+        @Override
+        public T next() {
+          checkForComodification();
+          if (this.remaining == 0) {
+            throw new NoSuchElementException();
+          }
+          T data = this.current.data;
+          this.current = this.current.next[0];
+          this.remaining--;
+          return data;
+        }
+      };
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the list.
+   */
+  private class NodeIterator implements Iterator<T> {
+
+    /*
+     * The node holding the next element, or null if there is none.
+     */
+    private SkipNode<T> node;
+
+    /*
+     * The modification count the iterator expects the list to have.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs an iterator positioned before the first element.
+     */
+    NodeIterator() {
+      this.node = head.next[0];
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.node != null;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the list was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (this.node == null) {
+        throw new NoSuchElementException();
+      }
+      T element = this.node.data;
+      this.node = this.node.next[0];
+      return element;
+    }
+  }
+
+  // Node class
+
+  /*
+   * A node on one or more levels. For each level it is on, it holds the
+   * next node on that level and the number of positions the link spans.
+   * A link with no next node spans to one past the last element.
+   */
+  private static final class SkipNode<E> {
+
+    /*
+     * The element of the node, or null for the head sentinel.
+     */
+    private E data;
+
+    /*
+     * The next node on each level.
+     */
+    private final SkipNode<E>[] next;
+
+    /*
+     * The number of positions the link on each level spans.
+     */
+    private final int[] span;
+
+    /*
+     * Constructs a node on the given number of levels.
+     * @param data The element of the node.
+     * @param level The number of levels the node is on.
+     */
+    @SuppressWarnings("unchecked")
+    SkipNode(E data, int level) {
+      this.data = data;
+      this.next = (SkipNode<E>[]) new SkipNode[level];
+      this.span = new int[level];
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package LinkedList;
 
+import Array.Slice;
+
 /*
- * An interface for a linked list data structure.
+ * An interface for a linked list data structure. Every linked list can also
+ * be used as a queue through offer, poll and peek.
  */
-public interface LinkedListInterface<T extends Comparable<T>> {
+public interface LinkedListInterface<T extends Comparable<T>>
+extends QueueInterface<T> {
   
   /*
    * Adds an element to the top of the list. Same as addFirst.
@@ -212,4 +216,17 @@ public interface LinkedListInterface<T extends Comparable<T>> {
    * @return An array containing the elements in the specified range.
    */
   T[] toSubArray(int fromIndex, int toIndex);
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view reads and writes the nodes of
+   * the list directly and copies nothing. Any structural modification of
+   * the list invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  Slice<T> slice(int fromIndex, int toIndex);
 }
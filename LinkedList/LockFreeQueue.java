@@ -0,0 +1,205 @@
+package LinkedList;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A lock-free, unbounded first-in, first-out queue for many producers and
+ * many consumers, after Michael and Scott.
+ *
+ * The queue is a singly linked list that starts with a dummy node. head
+ * points at the dummy, whose successor is the first element, and tail
+ * points at or just behind the last node. A producer links its node after
+ * the last node with a compare-and-set on that node's next pointer, and
+ * then tries once to swing tail to it. If the attempt fails, another
+ * thread has already moved tail on, or will do so the next time it finds
+ * tail lagging. A consumer swings head to the dummy's successor with a
+ * compare-and-set, and that successor becomes the new dummy. No thread
+ * ever waits for another; a thread that loses a race retries with the
+ * state the winner left.
+ *
+ * A dequeued dummy is linked to itself so it does not keep the rest of
+ * the queue reachable, and the element of the new dummy is cleared.
+ */
+public class LockFreeQueue<T extends Comparable<T>>
+implements QueueInterface<T> {
+
+  // Instance Variables
+
+  /*
+   * The dummy node before the first element.
+   */
+  private final AtomicReference<QueueNode<T>> head;
+
+  /*
+   * The last node, or a node shortly before it.
+   */
+  private final AtomicReference<QueueNode<T>> tail;
+
+  /*
+   * The number of elements offered minus the number polled. Updated after
+   * the link or unlink, so it can briefly lag the queue.
+   */
+  private final LongAdder count;
+
+  /*
+   * Compare-and-set access to the next pointer of a node.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<QueueNode, QueueNode>
+      NEXT = AtomicReferenceFieldUpdater.newUpdater(QueueNode.class,
+          QueueNode.class, "next");
+
+  // Constructor
+
+  /*
+   * Constructs a new, empty lock-free queue.
+   */
+  public LockFreeQueue() {
+    QueueNode<T> dummy = new QueueNode<>(null);
+    this.head = new AtomicReference<>(dummy);
+    this.tail = new AtomicReference<>(dummy);
+    this.count = new LongAdder();
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the back of the queue. Safe to call from any number
+   * of threads.
+   * @param element The element to be added to the back of the queue.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void offer(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    QueueNode<T> node = new QueueNode<>(element);
+    while (true) {
+      QueueNode<T> last = this.tail.get();
+      QueueNode<T> next = last.next;
+      if (last != this.tail.get()) {
+        continue;
+      }
+      if (next == null) {
+        if (NEXT.compareAndSet(last, null, node)) {
+          this.tail.compareAndSet(last, node);
+          this.count.increment();
+          return;
+        }
+      } else {
+        this.tail.compareAndSet(last, next);
+      }
+    }
+  }
+
+  /*
+   * Removes the element at the head of the queue. Safe to call from any
+   * number of threads.
+   * @return The element that was removed, or null if the queue is empty.
+   */
+  @Override
+  public T poll() {
+    while (true) {
+      QueueNode<T> first = this.head.get();
+      QueueNode<T> last = this.tail.get();
+      QueueNode<T> next = first.next;
+      if (first != this.head.get()) {
+        continue;
+      }
+      if (first == last) {
+        if (next == null) {
+          return null;
+        }
+        this.tail.compareAndSet(last, next);
+      } else {
+        T element = next.data;
+        if (this.head.compareAndSet(first, next)) {
+          next.data = null;
+          NEXT.lazySet(first, first);
+          this.count.decrement();
+          return element;
+        }
+      }
+    }
+  }
+
+  /*
+   * Retrieves the element at the head of the queue without removing it.
+   * @return The head of the queue, or null if empty.
+   */
+  @Override
+  public T peek() {
+    while (true) {
+      QueueNode<T> first = this.head.get();
+      QueueNode<T> next = first.next;
+      if (next == null) {
+        return null;
+      }
+      T element = next.data;
+      if (first == this.head.get()) {
+        return element;
+      }
+    }
+  }
+
+  /*
+   * Checks if the queue is empty at some moment during the call.
+   * @return true if the queue is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    while (true) {
+      QueueNode<T> first = this.head.get();
+      QueueNode<T> next = first.next;
+      if (first == this.head.get()) {
+        return next == null;
+      }
+    }
+  }
+
+  /*
+   * Returns the number of elements in the queue. The count is weakly
+   * consistent: operations that are in progress may or may not be included,
+   * so under concurrent use it is an estimate. It is exact once the queue is
+   * quiescent.
+   * @return The number of elements in the queue.
+   */
+  @Override
+  public int size() {
+    long size = this.count.sum();
+    if (size < 0) {
+      return 0;
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  // Node class
+
+  /*
+   * A node of the queue.
+   */
+  private static final class QueueNode<E> {
+
+    /*
+     * The element of the node, or null once the node is the dummy.
+     */
+    private volatile E data;
+
+    /*
+     * The next node, null for the last node, or the node itself once it
+     * has been dequeued.
+     */
+    private volatile QueueNode<E> next;
+
+    /*
+     * Constructs an unlinked node holding the given element.
+     * @param data The element of the node.
+     */
+    QueueNode(E data) {
+      this.data = data;
+    }
+  }
+}
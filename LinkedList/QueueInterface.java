@@ -0,0 +1,39 @@
+package LinkedList;
+
+/*
+ * An interface for a first-in, first-out queue: the subset of a linked list
+ * that a work queue needs.
+ */
+public interface QueueInterface<T extends Comparable<T>> {
+
+  /*
+   * Adds an element to the back of the queue.
+   * @param element The element to be added to the back of the queue.
+   * @throws IllegalArgumentException if element is null.
+   */
+  void offer(T element);
+
+  /*
+   * Removes the element at the head of the queue.
+   * @return The element that was removed, or null if the queue is empty.
+   */
+  T poll();
+
+  /*
+   * Retrieves the element at the head of the queue without removing it.
+   * @return The head of the queue, or null if empty.
+   */
+  T peek();
+
+  /*
+   * Checks if the queue is empty.
+   * @return true if the queue is empty, false otherwise.
+   */
+  boolean isEmpty();
+
+  /*
+   * Returns the number of elements in the queue.
+   * @return The number of elements in the queue.
+   */
+  int size();
+}
@@ -1,5 +1,11 @@
 package LinkedList;
 
+import Array.AbstractSlice;
+import Array.Slice;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /*
  * A singly linked list implementation of the LinkedListInterface.
  */
@@ -17,11 +23,82 @@ implements LinkedListInterface<T> {
   private SinglyLinkedListNode<T> head;
 
   /*
-   * Constructs a new empty singly linked list.
+   * The tail (last element) of the list.
+   */
+  private SinglyLinkedListNode<T> tail;
+
+  /*
+   * The node last reached by an indexed access, or null if there is none.
+   * Indexed accesses at or after it start walking from there instead of
+   * from the head, so a loop over increasing indexes is linear overall.
+   */
+  private SinglyLinkedListNode<T> cursor;
+
+  /*
+   * The index of the cursor node.
+   */
+  private int cursorIndex;
+
+  /*
+   * The number of structural modifications, used to invalidate slices.
+   */
+  private int modCount;
+
+  /*
+   * Detached nodes kept for reuse, linked through their next pointers, or
+   * null if there are none.
+   */
+  private SinglyLinkedListNode<T> pool;
+
+  /*
+   * The number of nodes in the pool.
+   */
+  private int poolSize;
+
+  /*
+   * The most nodes the pool may hold. Zero turns recycling off.
+   */
+  private final int poolCapacity;
+
+  /*
+   * The number of nodes taken from the pool instead of allocated.
+   */
+  private long poolHits;
+
+  /*
+   * The number of nodes allocated while recycling is on because the pool
+   * was empty.
+   */
+  private long poolMisses;
+
+  /*
+   * Constructs a new empty singly linked list that does not recycle nodes.
    */
   public SinglyLinkedList() {
+    this(0);
+  }
+
+  /*
+   * Constructs a new empty singly linked list that keeps up to the given
+   * number of removed nodes and reuses them for later additions, so steady
+   * queue traffic allocates no nodes.
+   * @param poolCapacity The most removed nodes kept for reuse, or 0 to turn
+   *        recycling off.
+   * @throws IllegalArgumentException if poolCapacity < 0.
+   */
+  public SinglyLinkedList(int poolCapacity) {
+    if (poolCapacity < 0) {
+      throw new IllegalArgumentException("Pool capacity cannot be negative");
+    }
     this.size = 0;
     this.head = null;
+    this.tail = null;
+    this.cursor = null;
+    this.cursorIndex = 0;
+    this.modCount = 0;
+    this.pool = null;
+    this.poolSize = 0;
+    this.poolCapacity = poolCapacity;
   }
 
   /*
@@ -44,15 +121,17 @@ implements LinkedListInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
-    SinglyLinkedListNode<T> newNode = new SinglyLinkedListNode<>();
-    newNode.setData(element);
+    SinglyLinkedListNode<T> newNode = newNode(element);
     if (this.head == null) {
       this.head = newNode;
+      this.tail = newNode;
     } else {
       newNode.setNext(this.head);
       this.head = newNode;
     }
+    this.cursorIndex++;
     this.size++;
+    this.modCount++;
   }
 
   /*
@@ -75,18 +154,15 @@ implements LinkedListInterface<T> {
     if (element == null) {
       throw new IllegalArgumentException("Element cannot be null");
     }
-    SinglyLinkedListNode<T> newNode = new SinglyLinkedListNode<>();
-    newNode.setData(element);
+    SinglyLinkedListNode<T> newNode = newNode(element);
     if (this.head == null) {
       this.head = newNode;
     } else {
-      SinglyLinkedListNode<T> current = this.head;
-      while (current.getNext() != null) {
-        current = (SinglyLinkedListNode<T>) current.getNext();
-      }
-      current.setNext(newNode);
+      this.tail.setNext(newNode);
     }
+    this.tail = newNode;
     this.size++;
+    this.modCount++;
   }
 
   /*
@@ -113,15 +189,12 @@ implements LinkedListInterface<T> {
       this.addLast(element);
       return;
     }
-    SinglyLinkedListNode<T> newNode = new SinglyLinkedListNode<>();
-    newNode.setData(element);
-    SinglyLinkedListNode<T> current = this.head;
-    for (int i = 0; i < index - 1; i++) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
+    SinglyLinkedListNode<T> newNode = newNode(element);
+    SinglyLinkedListNode<T> current = node(index - 1);
     newNode.setNext(current.getNext());
     current.setNext(newNode);
     this.size++;
+    this.modCount++;
   }
 
   /*
@@ -129,8 +202,18 @@ implements LinkedListInterface<T> {
    */
   @Override
   public void clear() {
+    this.modCount++;
+    SinglyLinkedListNode<T> current = this.head;
+    while (current != null && this.poolSize < this.poolCapacity) {
+      SinglyLinkedListNode<T> next =
+          (SinglyLinkedListNode<T>) current.getNext();
+      recycle(current);
+      current = next;
+    }
     this.size = 0;
     this.head = null;
+    this.tail = null;
+    this.cursor = null;
   }
 
   /*
@@ -185,11 +268,7 @@ implements LinkedListInterface<T> {
     if (this.isEmpty()) {
       return null;
     }
-    SinglyLinkedListNode<T> current = this.head;
-    while (current.getNext() != null) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
-    return current.getData();
+    return this.tail.getData();
   }
 
   /*
@@ -203,11 +282,7 @@ implements LinkedListInterface<T> {
     if (!checkIndexExclusive(index)) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
-    SinglyLinkedListNode<T> current = this.head;
-    for (int i = 0; i < index; i++) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
-    return current.getData();
+    return node(index).getData();
   }
 
   /*
@@ -275,8 +350,19 @@ implements LinkedListInterface<T> {
     }
     SinglyLinkedListNode<T> removedNode = this.head;
     this.head = (SinglyLinkedListNode<T>) this.head.getNext();
+    if (this.head == null) {
+      this.tail = null;
+    }
+    if (this.cursor == removedNode) {
+      this.cursor = null;
+    } else {
+      this.cursorIndex--;
+    }
     this.size--;
-    return removedNode.getData();
+    this.modCount++;
+    T data = removedNode.getData();
+    recycle(removedNode);
+    return data;
   }
 
   /*
@@ -300,17 +386,14 @@ implements LinkedListInterface<T> {
     if (this.size == 1) {
       return this.removeFirst();
     }
-    SinglyLinkedListNode<T> current = this.head;
-    while (current.getNext() != null) {
-      if (current.getNext().getNext() == null) {
-        T data = current.getNext().getData();
-        current.setNext(null);
-        this.size--;
-        return data;
-      }
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
-    return null;
+    SinglyLinkedListNode<T> previous = node(this.size - 2);
+    T data = this.tail.getData();
+    previous.setNext(null);
+    recycle(this.tail);
+    this.tail = previous;
+    this.size--;
+    this.modCount++;
+    return data;
   }
 
   /*
@@ -321,20 +404,24 @@ implements LinkedListInterface<T> {
    */
   @Override
   public T remove(int index) {
-    if (!checkIndexInclusive(index)) {
-      throw new IndexOutOfBoundsException("Invalid index");
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
     }
     if (index == 0) {
       return this.removeFirst();
     }
-    SinglyLinkedListNode<T> current = this.head;
-    for (int i = 0; i < index - 1; i++) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
-    SinglyLinkedListNode<T> removedNode = (SinglyLinkedListNode<T>) current.getNext();
+    SinglyLinkedListNode<T> current = node(index - 1);
+    SinglyLinkedListNode<T> removedNode =
+        (SinglyLinkedListNode<T>) current.getNext();
     current.setNext(removedNode.getNext());
+    if (removedNode == this.tail) {
+      this.tail = current;
+    }
     this.size--;
-    return removedNode.getData();
+    this.modCount++;
+    T data = removedNode.getData();
+    recycle(removedNode);
+    return data;
   }
   
   /*
@@ -357,7 +444,13 @@ implements LinkedListInterface<T> {
         } else {
           previous.setNext(current.getNext());
         }
+        if (current == this.tail) {
+          this.tail = previous;
+        }
+        this.cursor = null;
         this.size--;
+        this.modCount++;
+        recycle(current);
         return true;
       }
       previous = current;
@@ -397,7 +490,13 @@ implements LinkedListInterface<T> {
     } else {
       lastOccurrencePrev.setNext(lastOccurrence.getNext());
     }
+    if (lastOccurrence == this.tail) {
+      this.tail = lastOccurrencePrev;
+    }
+    this.cursor = null;
     this.size--;
+    this.modCount++;
+    recycle(lastOccurrence);
     return true;
   }
 
@@ -417,10 +516,7 @@ implements LinkedListInterface<T> {
     if (!checkIndexExclusive(index)) {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
-    SinglyLinkedListNode<T> current = this.head;
-    for (int i = 0; i < index; i++) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
-    }
+    SinglyLinkedListNode<T> current = node(index);
     T oldData = current.getData();
     current.setData(element);
     return oldData;
@@ -464,6 +560,9 @@ implements LinkedListInterface<T> {
    */
   @Override
   public void reverse() {
+    this.modCount++;
+    this.cursor = null;
+    this.tail = this.head;
     SinglyLinkedListNode<T> previous = null;
     SinglyLinkedListNode<T> current = this.head;
     SinglyLinkedListNode<T> next;
@@ -518,10 +617,10 @@ implements LinkedListInterface<T> {
       throw new IndexOutOfBoundsException("Index out of bounds");
     }
     T[] array = (T[]) new Comparable[toIndex - fromIndex];
-    SinglyLinkedListNode<T> current = this.head;
-    for (int i = 0; i < fromIndex; i++) {
-      current = (SinglyLinkedListNode<T>) current.getNext();
+    if (fromIndex == toIndex) {
+      return array;
     }
+    SinglyLinkedListNode<T> current = node(fromIndex);
     for (int i = fromIndex; i < toIndex; i++) {
       array[i - fromIndex] = current.getData();
       current = (SinglyLinkedListNode<T>) current.getNext();
@@ -529,6 +628,48 @@ implements LinkedListInterface<T> {
     return array;
   }
 
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view holds the first node of the
+   * range, so iterating it walks only the range and copies nothing. Setting
+   * an element through the view writes the node. Any structural
+   * modification of the list invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    SinglyLinkedListNode<T> first = null;
+    if (fromIndex < toIndex) {
+      first = node(fromIndex);
+    }
+    return new ListSlice(first, toIndex - fromIndex, this.modCount);
+  }
+
+  /*
+   * Returns the number of nodes taken from the recycling pool instead of
+   * allocated.
+   * @return The number of pool hits.
+   */
+  public long getPoolHits() {
+    return this.poolHits;
+  }
+
+  /*
+   * Returns the number of nodes allocated while recycling is on because the
+   * pool was empty. Zero if recycling is off.
+   * @return The number of pool misses.
+   */
+  public long getPoolMisses() {
+    return this.poolMisses;
+  }
+
   // Helper Methods
 
   private boolean checkIndexInclusive(int index) {
@@ -539,6 +680,196 @@ implements LinkedListInterface<T> {
     return index >= 0 && index < this.size;
   }
 
+  /*
+   * Returns the node at the given index, walking from the cursor if it is
+   * at or before the index and from the head otherwise, and moves the
+   * cursor there.
+   * @param index The index of the node, in range [0, size).
+   * @return The node at that index.
+   */
+  private SinglyLinkedListNode<T> node(int index) {
+    SinglyLinkedListNode<T> current;
+    int i;
+    if (index == this.size - 1) {
+      current = this.tail;
+      i = index;
+    } else if (this.cursor != null && this.cursorIndex <= index) {
+      current = this.cursor;
+      i = this.cursorIndex;
+    } else {
+      current = this.head;
+      i = 0;
+    }
+    for (; i < index; i++) {
+      current = (SinglyLinkedListNode<T>) current.getNext();
+    }
+    this.cursor = current;
+    this.cursorIndex = index;
+    return current;
+  }
+
+  /*
+   * Returns a node holding the given element, taken from the pool if it
+   * has one and allocated otherwise.
+   * @param element The element the node should hold.
+   * @return The node.
+   */
+  private SinglyLinkedListNode<T> newNode(T element) {
+    SinglyLinkedListNode<T> node = this.pool;
+    if (node != null) {
+      this.pool = (SinglyLinkedListNode<T>) node.getNext();
+      node.setNext(null);
+      this.poolSize--;
+      this.poolHits++;
+    } else {
+      node = new SinglyLinkedListNode<>();
+      if (this.poolCapacity > 0) {
+        this.poolMisses++;
+      }
+    }
+    node.setData(element);
+    return node;
+  }
+
+  /*
+   * Puts a node that was unlinked from the list into the pool if there is
+   * room, clearing its fields so it does not keep garbage alive.
+   * @param node The unlinked node.
+   */
+  private void recycle(SinglyLinkedListNode<T> node) {
+    if (this.poolSize < this.poolCapacity) {
+      node.setData(null);
+      node.setNext(this.pool);
+      this.pool = node;
+      this.poolSize++;
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the list, starting at a given node. Reading the
+   * element at index i walks i nodes from the start of the range, and the
+   * iterator walks the range once.
+   */
+  private class ListSlice extends AbstractSlice<T> {
+
+    /*
+     * The first node of the range, or null if the range is empty.
+     */
+    private final SinglyLinkedListNode<T> first;
+
+    /*
+     * The modCount of the list when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given node.
+     * @param first The first node of the range.
+     * @param length The number of elements in the range.
+     * @param expectedModCount The modCount of the list.
+     */
+    ListSlice(SinglyLinkedListNode<T> first, int length, int expectedModCount) {
+      super(length);
+      this.first = first;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      return node(index).getData();
+    }
+
+    /*
+     * Writes the element at the given index of the slice into its node.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      SinglyLinkedListNode<T> node = node(index);
+      T oldData = node.getData();
+      node.setData(element);
+      return oldData;
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      SinglyLinkedListNode<T> start =
+          fromIndex < toIndex ? node(fromIndex) : null;
+      return new ListSlice(start, toIndex - fromIndex, this.expectedModCount);
+    }
+
+    /*
+     * Throws if the list was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the list was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns an iterator that walks the nodes of the range once.
+     * @return An iterator over the elements in the slice.
+     */
+    @Override
+    public Iterator<T> iterator() {
+      int length = size();
+      return new Iterator<T>() {
+        private SinglyLinkedListNode<T> current = first;
+        private int remaining = length;
+
+        @Override
+        public boolean hasNext() {
+          return this.remaining > 0;
+        }
+
+        @Override
+        public T next() {
+          checkForComodification();
+          if (this.remaining == 0) {
+            throw new NoSuchElementException();
+          }
+          T data = this.current.getData();
+          this.current = (SinglyLinkedListNode<T>) this.current.getNext();
+          this.remaining--;
+          return data;
+        }
+      };
+    }
+
+    /*
+     * Returns the node at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The node at that index.
+     */
+    private SinglyLinkedListNode<T> node(int index) {
+      SinglyLinkedListNode<T> current = this.first;
+      for (int i = 0; i < index; i++) {
+        current = (SinglyLinkedListNode<T>) current.getNext();
+      }
+      return current;
+    }
+  }
+
   /*
    * A private class representing a node in the singly linked list.
    */
@@ -0,0 +1,1117 @@
+package LinkedList;
+
+import Array.AbstractSlice;
+import Array.Slice;
+import Sort.InsertionSort;
+import Sort.MergeSort;
+import Sort.QuickSort;
+import Sort.SelectionSort;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * An unrolled linked list: a doubly linked list of nodes that each hold a
+ * small array of elements instead of a single one.
+ *
+ * The elements of a node sit in a contiguous run of its array that may
+ * start anywhere, so adding or removing at either end of a node only moves
+ * a bound. Traversal reads whole runs and touches one node per run instead
+ * of one per element, and each element costs about one reference instead
+ * of a node object with three.
+ *
+ * Inserting into a full node splits it in two, each keeping half. A node
+ * that drops below half full after a removal is merged into a neighbour if
+ * their elements fit in one node, and a node that becomes empty is always
+ * unlinked.
+ */
+public class UnrolledLinkedList<T extends Comparable<T>>
+implements LinkedListInterface<T>, Iterable<T> {
+
+  // Instance Variables
+
+  /*
+   * The number of elements in the list.
+   */
+  private int size;
+
+  /*
+   * The first node of the list.
+   */
+  private UnrolledNode head;
+
+  /*
+   * The last node of the list.
+   */
+  private UnrolledNode tail;
+
+  /*
+   * The number of structural modifications, used to invalidate slices and
+   * iterators.
+   */
+  private int modCount;
+
+  /*
+   * The offset within its node of the element found by the last call to
+   * locate, which returns only the node.
+   */
+  private int located;
+
+  /*
+   * The number of elements each node can hold.
+   */
+  private final int nodeCapacity;
+
+  /*
+   * The default number of elements each node can hold.
+   */
+  private static final int NODE_CAPACITY = 32;
+
+  // Constructors
+
+  /*
+   * Constructs a new, empty unrolled linked list with the default node
+   * capacity.
+   */
+  public UnrolledLinkedList() {
+    this(NODE_CAPACITY);
+  }
+
+  /*
+   * Constructs a new, empty unrolled linked list whose nodes hold the given
+   * number of elements.
+   * @param nodeCapacity The number of elements each node can hold.
+   * @throws IllegalArgumentException if nodeCapacity < 2.
+   */
+  public UnrolledLinkedList(int nodeCapacity) {
+    if (nodeCapacity < 2) {
+      throw new IllegalArgumentException("Node capacity must be at least 2");
+    }
+    this.size = 0;
+    this.head = null;
+    this.tail = null;
+    this.modCount = 0;
+    this.nodeCapacity = nodeCapacity;
+  }
+
+  // Methods
+
+  /*
+   * Adds an element to the top of the list. Same as addFirst.
+   * @param element The element to be added to the top of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void push(T element) {
+    addFirst(element);
+  }
+
+  /*
+   * Adds an element to the front of the list. Same as push.
+   * @param element The element to be added to the front of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addFirst(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (this.head == null || isFull(this.head)) {
+      UnrolledNode node = new UnrolledNode(this.nodeCapacity);
+      if (this.head == null) {
+        this.head = node;
+        this.tail = node;
+      } else {
+        node.next = this.head;
+        this.head.prev = node;
+        this.head = node;
+      }
+    } else if (this.head.start == 0) {
+      moveRun(this.head, this.nodeCapacity - this.head.count());
+    }
+    this.head.elements[--this.head.start] = element;
+    this.size++;
+    this.modCount++;
+  }
+
+  /*
+   * Adds an element to the back of the list. Same as addLast.
+   * @param element The element to be added to the back of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void offer(T element) {
+    addLast(element);
+  }
+
+  /*
+   * Adds an element to the back of the list. Same as offer.
+   * @param element The element to be added to the back of the list.
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void addLast(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (this.tail == null || isFull(this.tail)) {
+      UnrolledNode node = new UnrolledNode(0);
+      if (this.tail == null) {
+        this.head = node;
+        this.tail = node;
+      } else {
+        linkAfter(this.tail, node);
+      }
+    } else if (this.tail.end == this.nodeCapacity) {
+      moveRun(this.tail, 0);
+    }
+    this.tail.elements[this.tail.end++] = element;
+    this.size++;
+    this.modCount++;
+  }
+
+  /*
+   * Adds an element at the specified index. If the index is equal to the size
+   * of the list, the element should be added to the back of the list. If the
+   * index is 0, the element should be added to the front of the list.
+   * @param index The index at which the element should be added.
+   * @param element The element to be added at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index > size()
+   * @throws IllegalArgumentException if element is null.
+   */
+  @Override
+  public void add(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexInclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (index == 0) {
+      addFirst(element);
+    } else if (index == this.size) {
+      addLast(element);
+    } else {
+      UnrolledNode node = locate(index);
+      insertAt(node, this.located, element);
+    }
+  }
+
+  /*
+   * Removes all elements from the list.
+   */
+  @Override
+  public void clear() {
+    this.modCount++;
+    this.size = 0;
+    this.head = null;
+    this.tail = null;
+  }
+
+  /*
+   * Checks if the list contains the given element.
+   * @param element The element to be checked.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the list contains the given element, false otherwise.
+   */
+  @Override
+  public boolean contains(T element) {
+    return firstIndexOf(element) >= 0;
+  }
+
+  /*
+   * Retrieves the head (first element) of the list. Same as getFirst.
+   * @return The head of the list, or null if empty.
+   */
+  @Override
+  public T peek() {
+    return getFirst();
+  }
+
+  /*
+   * Retrieves the head (first element) of the list. Same as peek.
+   * @return The head of the list, or null if empty.
+   */
+  @Override
+  public T getFirst() {
+    if (isEmpty()) {
+      return null;
+    }
+    return this.head.elements[this.head.start];
+  }
+
+  /*
+   * Retrieves the tail (last element) of the list.
+   * @return The tail of the list, or null if empty.
+   */
+  @Override
+  public T getLast() {
+    if (isEmpty()) {
+      return null;
+    }
+    return this.tail.elements[this.tail.end - 1];
+  }
+
+  /*
+   * Retrieves an element at the specified index.
+   * @param index The index at which the element should be retrieved.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was retrieved.
+   */
+  @Override
+  public T get(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    UnrolledNode node = locate(index);
+    return node.elements[node.start + this.located];
+  }
+
+  /*
+   * Finds the index of the first occurrence of the given element.
+   * @param element The element to find found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the first occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int firstIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int base = 0;
+    for (UnrolledNode node = this.head; node != null; node = node.next) {
+      T[] elements = node.elements;
+      for (int i = node.start; i < node.end; i++) {
+        if (elements[i].equals(element)) {
+          return base + i - node.start;
+        }
+      }
+      base += node.count();
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the index of the last occurrence of the given element.
+   * @param element The element to be found.
+   * @throws IllegalArgumentException if element is null.
+   * @return The index of the last occurrence of the given element,
+   *         or -1 if not found.
+   */
+  @Override
+  public int lastIndexOf(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    int base = this.size;
+    for (UnrolledNode node = this.tail; node != null; node = node.prev) {
+      base -= node.count();
+      T[] elements = node.elements;
+      for (int i = node.end - 1; i >= node.start; i--) {
+        if (elements[i].equals(element)) {
+          return base + i - node.start;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Removes the element at the head of the list. Same as removeFirst.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T poll() {
+    return removeFirst();
+  }
+
+  /*
+   * Removes the element at the head of the list. Same as poll.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T removeFirst() {
+    if (isEmpty()) {
+      return null;
+    }
+    return removeAt(this.head, 0);
+  }
+
+  /*
+   * Removes the element at the tail of the list. Same as removeLast.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T pop() {
+    return removeLast();
+  }
+
+  /*
+   * Removes the element at the tail of the list. Same as pop.
+   * @return The element that was removed, or null if the list is empty.
+   */
+  @Override
+  public T removeLast() {
+    if (isEmpty()) {
+      return null;
+    }
+    return removeAt(this.tail, this.tail.count() - 1);
+  }
+
+  /*
+   * Removes the element at the specified index.
+   * @param index The index at which the element should be removed.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @return The element that was removed.
+   */
+  @Override
+  public T remove(int index) {
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    UnrolledNode node = locate(index);
+    return removeAt(node, this.located);
+  }
+
+  /*
+   * Removes the first occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeFirstOccurrence(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (UnrolledNode node = this.head; node != null; node = node.next) {
+      T[] elements = node.elements;
+      for (int i = node.start; i < node.end; i++) {
+        if (elements[i].equals(element)) {
+          removeAt(node, i - node.start);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Removes the last occurrence of the given element.
+   * @param element The element to be removed.
+   * @throws IllegalArgumentException if element is null.
+   * @return true if the element was removed, false otherwise.
+   */
+  @Override
+  public boolean removeLastOccurrence(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    for (UnrolledNode node = this.tail; node != null; node = node.prev) {
+      T[] elements = node.elements;
+      for (int i = node.end - 1; i >= node.start; i--) {
+        if (elements[i].equals(element)) {
+          removeAt(node, i - node.start);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Replaces the element at the specified index with the given element.
+   * @param index The index at which the element should be replaced.
+   * @param element The element to be stored at the specified index.
+   * @throws IndexOutOfBoundsException if index < 0 or index >= size()
+   * @throws IllegalArgumentException if element is null.
+   * @return The element previously at the specified index.
+   */
+  @Override
+  public T set(int index, T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    if (!checkIndexExclusive(index)) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    UnrolledNode node = locate(index);
+    int position = node.start + this.located;
+    T oldData = node.elements[position];
+    node.elements[position] = element;
+    return oldData;
+  }
+
+  /*
+   * Returns the number of elements in the list.
+   * @return The number of elements in the list.
+   */
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using merge sort.
+   * The elements are sorted in an array and written back, so the nodes
+   * keep their shape.
+   */
+  @Override
+  public void mergeSort() {
+    T[] array = toArray();
+    new MergeSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using insertion sort.
+   */
+  @Override
+  public void insertionSort() {
+    T[] array = toArray();
+    new InsertionSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using selection sort.
+   */
+  @Override
+  public void selectionSort() {
+    T[] array = toArray();
+    new SelectionSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Sorts the elements in the list in ascending order using quick sort.
+   */
+  @Override
+  public void quickSort() {
+    T[] array = toArray();
+    new QuickSort<T>().sort(array, 0, array.length);
+    copyIn(array);
+  }
+
+  /*
+   * Reverses the order of the elements in the list by reversing the order
+   * of the nodes and the run within each node.
+   */
+  @Override
+  public void reverse() {
+    if (isEmpty()) {
+      return;
+    }
+    this.modCount++;
+    UnrolledNode node = this.head;
+    while (node != null) {
+      T[] elements = node.elements;
+      for (int i = node.start, j = node.end - 1; i < j; i++, j--) {
+        T temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+      }
+      UnrolledNode next = node.next;
+      node.next = node.prev;
+      node.prev = next;
+      node = next;
+    }
+    UnrolledNode temp = this.head;
+    this.head = this.tail;
+    this.tail = temp;
+  }
+
+  /*
+   * Checks if the list is empty.
+   * @return true if the list is empty, false otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /*
+   * Returns an array representation of the elements in the list.
+   * @return An array containing the elements in the list.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toArray() {
+    T[] array = (T[]) new Comparable[this.size];
+    int index = 0;
+    for (UnrolledNode node = this.head; node != null; node = node.next) {
+      System.arraycopy(node.elements, node.start, array, index, node.count());
+      index += node.count();
+    }
+    return array;
+  }
+
+  /*
+   * Returns a subarray from the given fromIndex (inclusive) to the given
+   * toIndex (exclusive).
+   * @param fromIndex The starting index of the subarray (inclusive).
+   * @param toIndex The ending index of the subarray (exclusive).
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return An array containing the elements in the specified range.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] toSubArray(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    T[] array = (T[]) new Comparable[toIndex - fromIndex];
+    if (fromIndex == toIndex) {
+      return array;
+    }
+    UnrolledNode node = locate(fromIndex);
+    int position = node.start + this.located;
+    int index = 0;
+    while (index < array.length) {
+      int count = Math.min(node.end - position, array.length - index);
+      System.arraycopy(node.elements, position, array, index, count);
+      index += count;
+      node = node.next;
+      position = node == null ? 0 : node.start;
+    }
+    return array;
+  }
+
+  /*
+   * Returns a view of the elements from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive). The view holds the node of the first
+   * element, so iterating it walks only the range and copies nothing.
+   * Setting an element through the view writes the node. Any structural
+   * modification of the list invalidates it.
+   * @param fromIndex The index of the first element of the view.
+   * @param toIndex The index after the last element of the view.
+   * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size(),
+   *         or fromIndex > toIndex.
+   * @return A view of the specified range.
+   */
+  @Override
+  public Slice<T> slice(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    if (fromIndex == toIndex) {
+      return new ListSlice(null, 0, 0, this.modCount);
+    }
+    UnrolledNode first = locate(fromIndex);
+    return new ListSlice(first, this.located, toIndex - fromIndex,
+        this.modCount);
+  }
+
+  /*
+   * Returns a fail-fast iterator over the elements in the list, walking
+   * each node's run in turn.
+   * @return An iterator over the elements in the list.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new RunIterator();
+  }
+
+  // Helper methods
+
+  /*
+   * Checks if the given index is in range [0, size).
+   * @param index The index to be checked.
+   * @returns true if the index is valid, false otherwise.
+   */
+  private boolean checkIndexExclusive(int index) {
+    return index >= 0 && index < this.size;
+  }
+
+  /*
+   * Checks if the given index is in range [0, size].
+   * @param index The index to be checked.
+   * @returns true if the index is valid, false otherwise.
+   */
+  private boolean checkIndexInclusive(int index) {
+    return index >= 0 && index <= this.size;
+  }
+
+  /*
+   * Checks if the given node holds as many elements as it can.
+   * @param node The node to be checked.
+   * @return true if the node is full, false otherwise.
+   */
+  private boolean isFull(UnrolledNode node) {
+    return node.count() == this.nodeCapacity;
+  }
+
+  /*
+   * Finds the node holding the element at the given index, walking whole
+   * nodes from whichever end of the list is closer. The offset of the
+   * element within the node is left in located.
+   * @param index The index of the element, in range [0, size).
+   * @return The node holding the element.
+   */
+  private UnrolledNode locate(int index) {
+    UnrolledNode node;
+    if (index < this.size / 2) {
+      node = this.head;
+      while (index >= node.count()) {
+        index -= node.count();
+        node = node.next;
+      }
+      this.located = index;
+    } else {
+      node = this.tail;
+      int remaining = this.size - index;
+      while (remaining > node.count()) {
+        remaining -= node.count();
+        node = node.prev;
+      }
+      this.located = node.count() - remaining;
+    }
+    return node;
+  }
+
+  /*
+   * Inserts an element into a node, splitting the node first if it is full.
+   * Whichever side of the insertion point is shorter and has room is
+   * shifted to make space.
+   * @param node The node to insert into.
+   * @param offset The offset within the node to insert at.
+   * @param element The element to be inserted.
+   */
+  private void insertAt(UnrolledNode node, int offset, T element) {
+    if (isFull(node)) {
+      UnrolledNode sibling = split(node);
+      if (offset > node.count()) {
+        offset -= node.count();
+        node = sibling;
+      }
+    }
+    T[] elements = node.elements;
+    int position = node.start + offset;
+    if (node.end < this.nodeCapacity
+        && (node.start == 0 || node.count() - offset <= offset)) {
+      System.arraycopy(elements, position, elements, position + 1,
+          node.end - position);
+      node.end++;
+    } else {
+      System.arraycopy(elements, node.start, elements, node.start - 1,
+          offset);
+      node.start--;
+      position--;
+    }
+    elements[position] = element;
+    this.size++;
+    this.modCount++;
+  }
+
+  /*
+   * Removes an element from a node, shifting whichever side of it is
+   * shorter, and then merges or unlinks the node if it became under-full.
+   * @param node The node to remove from.
+   * @param offset The offset within the node of the element.
+   * @return The element that was removed.
+   */
+  private T removeAt(UnrolledNode node, int offset) {
+    T[] elements = node.elements;
+    int position = node.start + offset;
+    T removed = elements[position];
+    if (offset < node.count() / 2) {
+      System.arraycopy(elements, node.start, elements, node.start + 1,
+          offset);
+      elements[node.start++] = null;
+    } else {
+      System.arraycopy(elements, position + 1, elements, position,
+          node.end - position - 1);
+      elements[--node.end] = null;
+    }
+    this.size--;
+    this.modCount++;
+    rebalance(node);
+    return removed;
+  }
+
+  /*
+   * Moves the upper half of a full node into a new node linked after it.
+   * @param node The node to be split.
+   * @return The new node.
+   */
+  private UnrolledNode split(UnrolledNode node) {
+    int keep = node.count() / 2;
+    int moved = node.count() - keep;
+    UnrolledNode sibling = new UnrolledNode(0);
+    System.arraycopy(node.elements, node.start + keep, sibling.elements, 0,
+        moved);
+    Arrays.fill(node.elements, node.start + keep, node.end, null);
+    node.end = node.start + keep;
+    sibling.end = moved;
+    linkAfter(node, sibling);
+    return sibling;
+  }
+
+  /*
+   * Unlinks a node that became empty, or merges a node that fell below half
+   * full into a neighbour when their elements fit in one node.
+   * @param node The node an element was just removed from.
+   */
+  private void rebalance(UnrolledNode node) {
+    int count = node.count();
+    if (count == 0) {
+      unlink(node);
+    } else if (count < this.nodeCapacity / 2) {
+      if (node.next != null
+          && count + node.next.count() <= this.nodeCapacity) {
+        merge(node, node.next);
+      } else if (node.prev != null
+          && node.prev.count() + count <= this.nodeCapacity) {
+        merge(node.prev, node);
+      }
+    }
+  }
+
+  /*
+   * Appends the run of the second node to the first and unlinks the second.
+   * @param first The node to merge into.
+   * @param second The node following it, whose elements fit alongside.
+   */
+  private void merge(UnrolledNode first, UnrolledNode second) {
+    int count = second.count();
+    if (first.end + count > this.nodeCapacity) {
+      moveRun(first, 0);
+    }
+    System.arraycopy(second.elements, second.start, first.elements,
+        first.end, count);
+    first.end += count;
+    unlink(second);
+  }
+
+  /*
+   * Moves the run of a node to start at the given slot, clearing the slots
+   * it leaves so they do not keep garbage alive.
+   * @param node The node whose run should move.
+   * @param newStart The slot the run should start at.
+   */
+  private void moveRun(UnrolledNode node, int newStart) {
+    int count = node.count();
+    int newEnd = newStart + count;
+    System.arraycopy(node.elements, node.start, node.elements, newStart,
+        count);
+    if (newStart > node.start) {
+      Arrays.fill(node.elements, node.start, Math.min(node.end, newStart),
+          null);
+    } else {
+      Arrays.fill(node.elements, Math.max(newEnd, node.start), node.end,
+          null);
+    }
+    node.start = newStart;
+    node.end = newEnd;
+  }
+
+  /*
+   * Links a new node after the given node.
+   * @param node The node to link after.
+   * @param newNode The node to be linked.
+   */
+  private void linkAfter(UnrolledNode node, UnrolledNode newNode) {
+    newNode.prev = node;
+    newNode.next = node.next;
+    if (node.next != null) {
+      node.next.prev = newNode;
+    } else {
+      this.tail = newNode;
+    }
+    node.next = newNode;
+  }
+
+  /*
+   * Unlinks a node from the list.
+   * @param node The node to be unlinked.
+   */
+  private void unlink(UnrolledNode node) {
+    if (node.prev != null) {
+      node.prev.next = node.next;
+    } else {
+      this.head = node.next;
+    }
+    if (node.next != null) {
+      node.next.prev = node.prev;
+    } else {
+      this.tail = node.prev;
+    }
+    node.next = null;
+    node.prev = null;
+  }
+
+  /*
+   * Writes the elements of the given array over the elements of the list in
+   * order, keeping the nodes as they are.
+   * @param array The elements, as many as the list holds.
+   */
+  private void copyIn(T[] array) {
+    this.modCount++;
+    int index = 0;
+    for (UnrolledNode node = this.head; node != null; node = node.next) {
+      System.arraycopy(array, index, node.elements, node.start, node.count());
+      index += node.count();
+    }
+  }
+
+  // Slice classes
+
+  /*
+   * A view of a range of the list, starting at a given offset in a given
+   * node. Reading the element at index i walks whole nodes from the start
+   * of the range, and the iterator walks the range once.
+   */
+  private class ListSlice extends AbstractSlice<T> {
+
+    /*
+     * The node of the first element of the range, or null if the range is
+     * empty.
+     */
+    private final UnrolledNode first;
+
+    /*
+     * The offset within the first node of the first element.
+     */
+    private final int firstOffset;
+
+    /*
+     * The modCount of the list when the slice was created.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs a view of the given number of elements starting at the
+     * given offset in the given node.
+     * @param first The node of the first element.
+     * @param firstOffset The offset within the node of the first element.
+     * @param length The number of elements in the range.
+     * @param expectedModCount The modCount of the list.
+     */
+    ListSlice(UnrolledNode first, int firstOffset, int length,
+        int expectedModCount) {
+      super(length);
+      this.first = first;
+      this.firstOffset = firstOffset;
+      this.expectedModCount = expectedModCount;
+    }
+
+    /*
+     * Reads the element at the given index of the slice.
+     * @param index The index within the slice.
+     * @return The element at that index.
+     */
+    @Override
+    protected T element(int index) {
+      UnrolledNode node = this.first;
+      int offset = this.firstOffset + index;
+      while (offset >= node.count()) {
+        offset -= node.count();
+        node = node.next;
+      }
+      return node.elements[node.start + offset];
+    }
+
+    /*
+     * Writes the element at the given index of the slice into its node.
+     * @param index The index within the slice.
+     * @param element The element to be stored.
+     * @return The element previously at that index.
+     */
+    @Override
+    protected T store(int index, T element) {
+      UnrolledNode node = this.first;
+      int offset = this.firstOffset + index;
+      while (offset >= node.count()) {
+        offset -= node.count();
+        node = node.next;
+      }
+      T oldData = node.elements[node.start + offset];
+      node.elements[node.start + offset] = element;
+      return oldData;
+    }
+
+    /*
+     * Creates a view of a range of this slice.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return A view of the range.
+     */
+    @Override
+    protected Slice<T> subSlice(int fromIndex, int toIndex) {
+      if (fromIndex == toIndex) {
+        return new ListSlice(null, 0, 0, this.expectedModCount);
+      }
+      UnrolledNode node = this.first;
+      int offset = this.firstOffset + fromIndex;
+      while (offset >= node.count()) {
+        offset -= node.count();
+        node = node.next;
+      }
+      return new ListSlice(node, offset, toIndex - fromIndex,
+          this.expectedModCount);
+    }
+
+    /*
+     * Throws if the list was structurally modified since the slice was
+     * created.
+     * @throws ConcurrentModificationException if the list was modified.
+     */
+    @Override
+    protected void checkForComodification() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    /*
+     * Returns an iterator that walks the runs of the range once.
+     * @return An iterator over the elements in the slice.
+     */
+    @Override
+    public Iterator<T> iterator() {
+      int length = size();
+      return new Iterator<T>() {
+        private UnrolledNode node = first;
+        private int position = first == null ? 0 : first.start + firstOffset;
+        private int remaining = length;
+
+        @Override
+        public boolean hasNext() {
+          return this.remaining > 0;
+        }
+
+        @Override
+        public T next() {
+          checkForComodification();
+          if (this.remaining == 0) {
+            throw new NoSuchElementException();
+          }
+          if (this.position == this.node.end) {
+            this.node = this.node.next;
+            this.position = this.node.start;
+          }
+          this.remaining--;
+          return this.node.elements[this.position++];
+        }
+      };
+    }
+  }
+
+  // Iterator classes
+
+  /*
+   * A fail-fast iterator over the elements of the list.
+   */
+  private class RunIterator implements Iterator<T> {
+
+    /*
+     * The node holding the next element, or null if there is none.
+     */
+    private UnrolledNode node;
+
+    /*
+     * The slot in the node of the next element.
+     */
+    private int position;
+
+    /*
+     * The modification count the iterator expects the list to have.
+     */
+    private final int expectedModCount;
+
+    /*
+     * Constructs an iterator positioned before the first element.
+     */
+    RunIterator() {
+      this.node = head;
+      this.position = head == null ? 0 : head.start;
+      this.expectedModCount = modCount;
+    }
+
+    /*
+     * Checks if there are more elements to iterate over.
+     * @return true if there is a next element, false otherwise.
+     */
+    @Override
+    public boolean hasNext() {
+      return this.node != null;
+    }
+
+    /*
+     * Returns the next element.
+     * @throws NoSuchElementException if there are no more elements.
+     * @throws ConcurrentModificationException if the list was modified.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+      if (modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (this.node == null) {
+        throw new NoSuchElementException();
+      }
+      T element = this.node.elements[this.position++];
+      if (this.position == this.node.end) {
+        this.node = this.node.next;
+        this.position = this.node == null ? 0 : this.node.start;
+      }
+      return element;
+    }
+  }
+
+  // Node class
+
+  /*
+   * A node holding a run of elements in slots [start, end) of its array.
+   */
+  private class UnrolledNode {
+
+    /*
+     * The slots of the node, of length nodeCapacity.
+     */
+    private final T[] elements;
+
+    /*
+     * The slot of the first element.
+     */
+    private int start;
+
+    /*
+     * The slot after the last element.
+     */
+    private int end;
+
+    /*
+     * The next node, or null if this is the last node.
+     */
+    private UnrolledNode next;
+
+    /*
+     * The previous node, or null if this is the first node.
+     */
+    private UnrolledNode prev;
+
+    /*
+     * Constructs an empty node whose run starts and ends at the given slot.
+     * @param start The slot the run starts at.
+     */
+    @SuppressWarnings("unchecked")
+    UnrolledNode(int start) {
+      this.elements = (T[]) new Comparable[nodeCapacity];
+      this.start = start;
+      this.end = start;
+    }
+
+    /*
+     * Returns the number of elements in the node.
+     * @return The number of elements in the node.
+     */
+    int count() {
+      return this.end - this.start;
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package LinkedList;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A work-stealing deque after Chase and Lev: one owner thread pushes and
+ * pops at the bottom, and any number of thief threads steal from the top.
+ *
+ * The elements live in a circular array indexed by two ever-increasing
+ * counters, top and bottom; the deque holds the slots in [top, bottom).
+ * Only the owner writes bottom and only the owner grows the array, so
+ * push takes no atomic instruction at all and pop takes none unless it
+ * is racing thieves for the last element. Thieves claim the top slot
+ * with a compare-and-set on top. When the array fills, the owner copies
+ * the live slots into one twice the size and publishes it; thieves still
+ * reading the old array see the same elements there, and the
+ * compare-and-set on top keeps any element from being taken twice.
+ *
+ * A thief cannot clear the slot it stole from, because after a wraparound
+ * the owner may already be pushing into it. Instead the owner clears the
+ * slots below top on its next push or pop. Until then, a stolen element
+ * stays reachable from the deque.
+ *
+ * push and pop must only be called by the owner thread. steal, isEmpty and
+ * size may be called from any thread.
+ */
+public class WorkStealingDeque<T extends Comparable<T>> {
+
+  // Instance Variables
+
+  /*
+   * The index of the oldest element, advanced by steals and by a pop that
+   * takes the last element.
+   */
+  private final AtomicLong top;
+
+  /*
+   * The index after the newest element. Written only by the owner.
+   */
+  private volatile long bottom;
+
+  /*
+   * The circular array of slots. Its length is a power of two, and index i
+   * lives in slot i & (length - 1). Replaced only by the owner.
+   */
+  private volatile T[] slots;
+
+  /*
+   * The index below which the owner has cleared the slots of the current
+   * array. Used only by the owner.
+   */
+  private long cleared;
+
+  /*
+   * The default initial capacity of the deque.
+   */
+  private static final int INITIAL_CAPACITY = 32;
+
+  /*
+   * The largest capacity of the deque.
+   */
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  // Constructors
+
+  /*
+   * Constructs a new, empty work-stealing deque with the default initial
+   * capacity.
+   */
+  public WorkStealingDeque() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /*
+   * Constructs a new, empty work-stealing deque with room for at least the
+   * given number of elements before it grows.
+   * @param initialCapacity The initial capacity of the deque.
+   * @throws IllegalArgumentException if initialCapacity < 1.
+   */
+  @SuppressWarnings("unchecked")
+  public WorkStealingDeque(int initialCapacity) {
+    if (initialCapacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    int capacity = initialCapacity >= MAX_CAPACITY ? MAX_CAPACITY
+        : Integer.highestOneBit(Math.max(initialCapacity - 1, 1)) << 1;
+    this.top = new AtomicLong();
+    this.bottom = 0;
+    this.cleared = 0;
+    this.slots = (T[]) new Comparable[capacity];
+  }
+
+  // Methods
+
+  /*
+   * Adds an element at the bottom of the deque. Only the owner thread may
+   * call this.
+   * @param element The element to be added.
+   * @throws IllegalArgumentException if element is null.
+   * @throws IllegalStateException if the deque is at its largest capacity.
+   */
+  public void push(T element) {
+    if (element == null) {
+      throw new IllegalArgumentException("Element cannot be null");
+    }
+    long b = this.bottom;
+    long t = this.top.get();
+    T[] array = this.slots;
+    if (b - t >= array.length) {
+      array = grow(array, t, b);
+    } else {
+      clearStolen(array, t, b);
+    }
+    array[(int) b & (array.length - 1)] = element;
+    this.bottom = b + 1;
+  }
+
+  /*
+   * Removes the element at the bottom of the deque, the one pushed most
+   * recently. Only the owner thread may call this.
+   * @return The element that was removed, or null if the deque is empty.
+   */
+  public T pop() {
+    long b = this.bottom - 1;
+    T[] array = this.slots;
+    // The write of bottom must be visible to thieves before top is read,
+    // which holds because both are volatile accesses.
+    this.bottom = b;
+    long t = this.top.get();
+    if (t > b) {
+      this.bottom = b + 1;
+      clearStolen(array, t, b + 1);
+      return null;
+    }
+    clearStolen(array, t, b + 1);
+    int slot = (int) b & (array.length - 1);
+    T element = array[slot];
+    if (t < b) {
+      array[slot] = null;
+      return element;
+    }
+    // The last element: race any thief for it on top.
+    if (!this.top.compareAndSet(t, t + 1)) {
+      element = null;
+    }
+    this.bottom = b + 1;
+    return element;
+  }
+
+  /*
+   * Removes the element at the top of the deque, the oldest one. Safe to
+   * call from any thread. Retries while it loses races with other thieves
+   * or the owner, so it returns null only if the deque was empty at some
+   * moment during the call.
+   * @return The element that was removed, or null if the deque is empty.
+   */
+  public T steal() {
+    while (true) {
+      long t = this.top.get();
+      long b = this.bottom;
+      if (t >= b) {
+        return null;
+      }
+      T[] array = this.slots;
+      T element = array[(int) t & (array.length - 1)];
+      if (this.top.compareAndSet(t, t + 1)) {
+        return element;
+      }
+    }
+  }
+
+  /*
+   * Checks if the deque is empty at some moment during the call.
+   * @return true if the deque is empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /*
+   * Returns the number of elements in the deque. Under concurrent use this
+   * is an estimate; it is exact once the deque is quiescent.
+   * @return The number of elements in the deque.
+   */
+  public int size() {
+    long size = this.bottom - this.top.get();
+    return size < 0 ? 0 : (int) size;
+  }
+
+  // Helper methods
+
+  /*
+   * Clears the slots below top that no thief still needs. Once top has
+   * moved past an index, any thief that took that element has already
+   * read it, and any other thief reading the slot will fail its
+   * compare-and-set. Only indexes whose slot is not shared with a live
+   * index are cleared.
+   * @param array The current array.
+   * @param t The top index read by the owner.
+   * @param b The bottom index before the owner's current operation.
+   */
+  private void clearStolen(T[] array, long t, long b) {
+    for (long i = Math.max(this.cleared, b - array.length); i < t; i++) {
+      array[(int) i & (array.length - 1)] = null;
+    }
+    if (t > this.cleared) {
+      this.cleared = t;
+    }
+  }
+
+  /*
+   * Copies the live slots into an array twice the size and publishes it.
+   * The old array is left intact, since thieves may still be reading it.
+   * @param array The current array, which is full.
+   * @param t The top index read by push.
+   * @param b The bottom index.
+   * @throws IllegalStateException if the deque is at its largest capacity.
+   * @return The new array.
+   */
+  @SuppressWarnings("unchecked")
+  private T[] grow(T[] array, long t, long b) {
+    if (array.length >= MAX_CAPACITY) {
+      throw new IllegalStateException("Deque is full");
+    }
+    T[] newArray = (T[]) new Comparable[array.length << 1];
+    for (long i = t; i < b; i++) {
+      newArray[(int) i & (newArray.length - 1)] =
+          array[(int) i & (array.length - 1)];
+    }
+    this.cleared = t;
+    this.slots = newArray;
+    return newArray;
+  }
+}
@@ -0,0 +1,562 @@
+package Search;
+
+/*
+ * Searches and reductions over ranges of primitive arrays.
+ *
+ * The loops are shaped so the JIT compiler can unroll them and turn them
+ * into SIMD code: simple counted loops over one array, with no calls and
+ * no branches inside other than the exit of a search. Counting works out
+ * whether each element matches arithmetically instead of with a compare
+ * and branch, so it costs the same however many elements match. Sums of
+ * doubles are split over several partial sums, since a single running sum
+ * forces every addition to wait for the one before it. Scans over large
+ * arrays are then limited by memory bandwidth rather than by the loop.
+ *
+ * Doubles are compared the way Double.equals compares them: NaN equals
+ * NaN, and 0.0 does not equal -0.0.
+ */
+public final class PrimitiveSearch {
+
+  /*
+   * The number of partial sums a double sum is split over.
+   */
+  private static final int LANES = 4;
+
+  // Constructor
+
+  /*
+   * Not instantiable.
+   */
+  private PrimitiveSearch() {}
+
+  // Int methods
+
+  /*
+   * Finds the first index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the first occurrence, or -1 if not found.
+   */
+  public static int indexOf(int[] array, int fromIndex, int toIndex,
+      int value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the last index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the last occurrence, or -1 if not found.
+   */
+  public static int lastIndexOf(int[] array, int fromIndex, int toIndex,
+      int value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    for (int i = toIndex - 1; i >= fromIndex; i--) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the value occurs in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return true if the value occurs in the range, false otherwise.
+   */
+  public static boolean contains(int[] array, int fromIndex, int toIndex,
+      int value) {
+    return indexOf(array, fromIndex, toIndex, value) != -1;
+  }
+
+  /*
+   * Counts the occurrences of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be counted.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The number of occurrences.
+   */
+  public static int count(int[] array, int fromIndex, int toIndex,
+      int value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    return toIndex - fromIndex - misses(array, fromIndex, toIndex, value);
+  }
+
+  /*
+   * Returns the smallest element in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The smallest element.
+   */
+  public static int min(int[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    int min = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /*
+   * Returns the largest element in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The largest element.
+   */
+  public static int max(int[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    int max = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      max = Math.max(max, array[i]);
+    }
+    return max;
+  }
+
+  /*
+   * Sums the elements in the range [fromIndex, toIndex). The sum is kept
+   * in a long, so it does not overflow.
+   * @param array The array to be summed.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The sum of the elements, or 0 if the range is empty.
+   */
+  public static long sum(int[] array, int fromIndex, int toIndex) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    long sum = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      sum += array[i];
+    }
+    return sum;
+  }
+
+  // Long methods
+
+  /*
+   * Finds the first index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the first occurrence, or -1 if not found.
+   */
+  public static int indexOf(long[] array, int fromIndex, int toIndex,
+      long value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the last index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the last occurrence, or -1 if not found.
+   */
+  public static int lastIndexOf(long[] array, int fromIndex, int toIndex,
+      long value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    for (int i = toIndex - 1; i >= fromIndex; i--) {
+      if (array[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the value occurs in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return true if the value occurs in the range, false otherwise.
+   */
+  public static boolean contains(long[] array, int fromIndex, int toIndex,
+      long value) {
+    return indexOf(array, fromIndex, toIndex, value) != -1;
+  }
+
+  /*
+   * Counts the occurrences of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be counted.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The number of occurrences.
+   */
+  public static int count(long[] array, int fromIndex, int toIndex,
+      long value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    return toIndex - fromIndex - misses(array, fromIndex, toIndex, value);
+  }
+
+  /*
+   * Returns the smallest element in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The smallest element.
+   */
+  public static long min(long[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    long min = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /*
+   * Returns the largest element in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The largest element.
+   */
+  public static long max(long[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    long max = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      max = Math.max(max, array[i]);
+    }
+    return max;
+  }
+
+  /*
+   * Sums the elements in the range [fromIndex, toIndex). The sum wraps
+   * around on overflow, like long addition.
+   * @param array The array to be summed.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The sum of the elements, or 0 if the range is empty.
+   */
+  public static long sum(long[] array, int fromIndex, int toIndex) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    long sum = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      sum += array[i];
+    }
+    return sum;
+  }
+
+  // Double methods
+
+  /*
+   * Finds the first index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the first occurrence, or -1 if not found.
+   */
+  public static int indexOf(double[] array, int fromIndex, int toIndex,
+      double value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    if (Double.isNaN(value)) {
+      for (int i = fromIndex; i < toIndex; i++) {
+        if (Double.isNaN(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    long bits = Double.doubleToRawLongBits(value);
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (Double.doubleToRawLongBits(array[i]) == bits) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Finds the last index of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The index of the last occurrence, or -1 if not found.
+   */
+  public static int lastIndexOf(double[] array, int fromIndex, int toIndex,
+      double value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    if (Double.isNaN(value)) {
+      for (int i = toIndex - 1; i >= fromIndex; i--) {
+        if (Double.isNaN(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    long bits = Double.doubleToRawLongBits(value);
+    for (int i = toIndex - 1; i >= fromIndex; i--) {
+      if (Double.doubleToRawLongBits(array[i]) == bits) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Checks if the value occurs in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be found.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return true if the value occurs in the range, false otherwise.
+   */
+  public static boolean contains(double[] array, int fromIndex, int toIndex,
+      double value) {
+    return indexOf(array, fromIndex, toIndex, value) != -1;
+  }
+
+  /*
+   * Counts the occurrences of the value in the range [fromIndex, toIndex).
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element to be searched.
+   * @param toIndex The index after the last element to be searched.
+   * @param value The value to be counted.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The number of occurrences.
+   */
+  public static int count(double[] array, int fromIndex, int toIndex,
+      double value) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    if (Double.isNaN(value)) {
+      int count = 0;
+      for (int i = fromIndex; i < toIndex; i++) {
+        if (Double.isNaN(array[i])) {
+          count++;
+        }
+      }
+      return count;
+    }
+    return toIndex - fromIndex - misses(array, fromIndex, toIndex,
+        Double.doubleToRawLongBits(value));
+  }
+
+  /*
+   * Returns the smallest element in the range [fromIndex, toIndex), as
+   * Math.min orders them: NaN if any element is NaN, and -0.0 below 0.0.
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The smallest element.
+   */
+  public static double min(double[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    double min = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /*
+   * Returns the largest element in the range [fromIndex, toIndex), as
+   * Math.max orders them: NaN if any element is NaN, and 0.0 above -0.0.
+   * @param array The array to be searched.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The largest element.
+   */
+  public static double max(double[] array, int fromIndex, int toIndex) {
+    checkNonEmptyRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    double max = array[fromIndex];
+    for (int i = fromIndex + 1; i < toIndex; i++) {
+      max = Math.max(max, array[i]);
+    }
+    return max;
+  }
+
+  /*
+   * Sums the elements in the range [fromIndex, toIndex). The elements are
+   * added into LANES interleaved partial sums, which are combined at the
+   * end, so the result can differ in the last bits from adding them
+   * strictly left to right.
+   * @param array The array to be summed.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   * @return The sum of the elements, or 0.0 if the range is empty.
+   */
+  public static double sum(double[] array, int fromIndex, int toIndex) {
+    checkRange(array == null ? -1 : array.length, fromIndex, toIndex);
+    double sum0 = 0.0;
+    double sum1 = 0.0;
+    double sum2 = 0.0;
+    double sum3 = 0.0;
+    int i = fromIndex;
+    for (; i <= toIndex - LANES; i += LANES) {
+      sum0 += array[i];
+      sum1 += array[i + 1];
+      sum2 += array[i + 2];
+      sum3 += array[i + 3];
+    }
+    for (; i < toIndex; i++) {
+      sum0 += array[i];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  // Helper methods
+
+  /*
+   * Counts the elements in [fromIndex, toIndex) that differ from the value,
+   * without branching: x | -x has its sign bit set exactly when x is not 0.
+   * @param array The array to be scanned.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @param value The value to be compared against.
+   * @return The number of elements not equal to the value.
+   */
+  private static int misses(int[] array, int fromIndex, int toIndex,
+      int value) {
+    int misses = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      int x = array[i] ^ value;
+      misses += (x | -x) >>> 31;
+    }
+    return misses;
+  }
+
+  /*
+   * Counts the elements in [fromIndex, toIndex) that differ from the value,
+   * without branching.
+   * @param array The array to be scanned.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @param value The value to be compared against.
+   * @return The number of elements not equal to the value.
+   */
+  private static int misses(long[] array, int fromIndex, int toIndex,
+      long value) {
+    int misses = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      long x = array[i] ^ value;
+      misses += (int) ((x | -x) >>> 63);
+    }
+    return misses;
+  }
+
+  /*
+   * Counts the elements in [fromIndex, toIndex) whose bits differ from the
+   * given bits, without branching. The bits must not be a NaN.
+   * @param array The array to be scanned.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @param bits The raw bits of the value to be compared against.
+   * @return The number of elements not equal to the value.
+   */
+  private static int misses(double[] array, int fromIndex, int toIndex,
+      long bits) {
+    int misses = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      long x = Double.doubleToRawLongBits(array[i]) ^ bits;
+      misses += (int) ((x | -x) >>> 63);
+    }
+    return misses;
+  }
+
+  /*
+   * Checks that a range lies within an array.
+   * @param length The length of the array, or -1 if the array is null.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if the array is null.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   */
+  private static void checkRange(int length, int fromIndex, int toIndex) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Array cannot be null");
+    }
+    if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+  }
+
+  /*
+   * Checks that a range lies within an array and is not empty.
+   * @param length The length of the array, or -1 if the array is null.
+   * @param fromIndex The index of the first element.
+   * @param toIndex The index after the last element.
+   * @throws IllegalArgumentException if the array is null or the range is
+   *         empty.
+   * @throws IndexOutOfBoundsException if the range is not within the array.
+   */
+  private static void checkNonEmptyRange(int length, int fromIndex,
+      int toIndex) {
+    checkRange(length, fromIndex, toIndex);
+    if (fromIndex == toIndex) {
+      throw new IllegalArgumentException("Range cannot be empty");
+    }
+  }
+}
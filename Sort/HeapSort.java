@@ -0,0 +1,133 @@
+package Sort;
+
+/*
+ * A generic heap sort implementation. Always O(n log n) and in place, which
+ * makes it the fallback when quick sort recurses too deeply.
+ */
+public class HeapSort<T extends Comparable<T>> {
+    /*
+     * The number of comparisons made while counting was on.
+     */
+    private long comparisons;
+
+    /*
+     * Whether compare counts comparisons. Off by default, so a sort pays
+     * only a predictable branch per comparison unless it is measured.
+     */
+    private boolean counting;
+
+    /*
+     * Sorts the elements in the list in ascending order using heap sort.
+     * @param list The list to be sorted in place.
+     * @throws IllegalArgumentException if list is null.
+     * @return The sorted list.
+     */
+    public T[] heapSort(T[] list) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        sort(list, 0, list.length);
+        return list;
+    }
+
+    /*
+     * Sorts the elements of the list from the given fromIndex (inclusive) to
+     * the given toIndex (exclusive) in ascending order using heap sort.
+     * @param list The list to be sorted in place.
+     * @param fromIndex The index of the first element to be sorted.
+     * @param toIndex The index after the last element to be sorted.
+     * @throws IllegalArgumentException if list is null.
+     * @throws IndexOutOfBoundsException if fromIndex < 0,
+     *         toIndex > list.length, or fromIndex > toIndex.
+     */
+    public void sort(T[] list, int fromIndex, int toIndex) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        if (fromIndex < 0 || toIndex > list.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        sortRange(list, fromIndex, toIndex);
+    }
+
+    /*
+     * Sorts the range [fromIndex, toIndex) of the list without checking the
+     * arguments. QuickSort hands ranges here once its recursion gets too
+     * deep, after it has already checked their bounds.
+     * @param list The list to be sorted in place.
+     * @param fromIndex The index of the first element to be sorted.
+     * @param toIndex The index after the last element to be sorted.
+     */
+    void sortRange(T[] list, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(list, fromIndex, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            T temp = list[fromIndex];
+            list[fromIndex] = list[fromIndex + end];
+            list[fromIndex + end] = temp;
+            siftDown(list, fromIndex, 0, end);
+        }
+    }
+
+    /*
+     * Returns the number of comparisons made by the sorts run through this
+     * instance while counting was on. The count is cumulative, so callers
+     * measure a single sort by taking the difference before and after it.
+     * @return The number of comparisons counted so far.
+     */
+    public long getComparisons() {
+        return this.comparisons;
+    }
+
+    /*
+     * Turns comparison counting on or off. Counting is off by default.
+     * @param counting true to count comparisons, false to stop.
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    /*
+     * Moves the element at the given heap position down until neither of its
+     * children is greater than it.
+     * @param list The list holding the heap.
+     * @param base The index of the root of the heap.
+     * @param position The heap position of the element to be moved.
+     * @param length The number of elements in the heap.
+     */
+    private void siftDown(T[] list, int base, int position, int length) {
+        T element = list[base + position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= length) {
+                break;
+            }
+            if (child + 1 < length && compare(list[base + child + 1],
+                    list[base + child]) > 0) {
+                child++;
+            }
+            if (compare(list[base + child], element) <= 0) {
+                break;
+            }
+            list[base + position] = list[base + child];
+            position = child;
+        }
+        list[base + position] = element;
+    }
+
+    /*
+     * Compares two elements, counting the comparison if counting is on.
+     * @param a The first element.
+     * @param b The second element.
+     * @return A negative number, zero or a positive number as a is less
+     *         than, equal to or greater than b.
+     */
+    private int compare(T a, T b) {
+        if (this.counting) {
+            this.comparisons++;
+        }
+        return a.compareTo(b);
+    }
+}
@@ -1,13 +1,713 @@
 package Sort;
 
+import java.util.Arrays;
+
 /*
- * 
+ * A generic, stable, adaptive merge sort in the style of TimSort.
+ *
+ * The list is split into natural runs (ascending, or strictly descending
+ * and then reversed). Runs shorter than a computed minimum length are
+ * extended with binary insertion sort. Runs are kept on a stack and merged
+ * so their lengths stay balanced. Merges gallop (exponential search) once
+ * one side keeps winning, so already ordered or append-mostly data costs
+ * close to a single linear pass.
+ *
+ * The scratch buffer used by the merges is kept between calls, so a
+ * MergeSort instance should not be shared between threads.
  */
 public class MergeSort<T extends Comparable<T>> {
+
+    // Instance variables
+
+    /*
+     * The list currently being sorted.
+     */
+    private T[] list;
+
+    /*
+     * The scratch buffer the merges copy the shorter run into. Reused
+     * across calls and only grown when a larger merge needs it.
+     */
+    private T[] buffer;
+
+    /*
+     * The current threshold for entering galloping mode. Lowered while
+     * galloping pays off and raised when it does not.
+     */
+    private int minGallop;
+
+    /*
+     * The start index of each pending run.
+     */
+    private final int[] runBase;
+
+    /*
+     * The length of each pending run.
+     */
+    private final int[] runLength;
+
+    /*
+     * The number of pending runs on the stack.
+     */
+    private int stackSize;
+
+    /*
+     * The number of comparisons made while counting was on.
+     */
+    private long comparisons;
+
+    /*
+     * Whether compare counts comparisons. Off by default, so a sort pays
+     * only a predictable branch per comparison unless it is measured.
+     */
+    private boolean counting;
+
+    /*
+     * Lists shorter than this are sorted with binary insertion sort alone.
+     */
+    private static final int MIN_MERGE = 32;
+
+    /*
+     * The initial threshold for entering galloping mode.
+     */
+    private static final int MIN_GALLOP = 7;
+
+    /*
+     * The deepest the run stack can get. Run lengths grow at least as fast
+     * as the Fibonacci numbers, so 49 runs cover any int-indexed array.
+     */
+    private static final int MAX_STACK_SIZE = 49;
+
+    // Constructor
+
+    /*
+     * Constructs a new merge sort with an empty scratch buffer.
+     */
+    public MergeSort() {
+        this.runBase = new int[MAX_STACK_SIZE];
+        this.runLength = new int[MAX_STACK_SIZE];
+    }
+
+    // Methods
+
     /*
      * Sorts the elements in the list in ascending order using merge sort.
+     * @param list The list to be sorted in place.
+     * @throws IllegalArgumentException if list is null.
+     * @return The sorted list.
      */
     public T[] mergeSort(T[] list) {
-        return null;
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        sort(list, 0, list.length);
+        return list;
+    }
+
+    /*
+     * Sorts the elements of the list from the given fromIndex (inclusive) to
+     * the given toIndex (exclusive) in ascending order using merge sort.
+     * @param list The list to be sorted in place.
+     * @param fromIndex The index of the first element to be sorted.
+     * @param toIndex The index after the last element to be sorted.
+     * @throws IllegalArgumentException if list is null, or if the elements'
+     *         compareTo is inconsistent.
+     * @throws IndexOutOfBoundsException if fromIndex < 0,
+     *         toIndex > list.length, or fromIndex > toIndex.
+     */
+    public void sort(T[] list, int fromIndex, int toIndex) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        if (fromIndex < 0 || toIndex > list.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        int remaining = toIndex - fromIndex;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(list, fromIndex, toIndex);
+            binarySort(list, fromIndex, toIndex, fromIndex + runLength);
+            return;
+        }
+        this.list = list;
+        this.minGallop = MIN_GALLOP;
+        this.stackSize = 0;
+        try {
+            int minRun = minRunLength(remaining);
+            int low = fromIndex;
+            do {
+                int runLength = countRunAndMakeAscending(list, low, toIndex);
+                if (runLength < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binarySort(list, low, low + forced, low + runLength);
+                    runLength = forced;
+                }
+                pushRun(low, runLength);
+                mergeCollapse();
+                low += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+            mergeForceCollapse();
+        } finally {
+            this.list = null;
+            if (this.buffer != null) {
+                int used = Math.min(this.buffer.length,
+                        (toIndex - fromIndex) / 2 + 1);
+                Arrays.fill(this.buffer, 0, used, null);
+            }
+        }
+    }
+
+    /*
+     * Returns the number of comparisons made by the sorts run through this
+     * instance while counting was on. The count is cumulative, so callers
+     * measure a single sort by taking the difference before and after it.
+     * @return The number of comparisons counted so far.
+     */
+    public long getComparisons() {
+        return this.comparisons;
+    }
+
+    /*
+     * Turns comparison counting on or off. Counting is off by default.
+     * @param counting true to count comparisons, false to stop.
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    // Helper methods
+
+    /*
+     * Sorts the range [low, high) with binary insertion sort, assuming the
+     * range [low, start) is already sorted.
+     * @param list The list to be sorted.
+     * @param low The index of the first element of the range.
+     * @param high The index after the last element of the range.
+     * @param start The index of the first element not known to be sorted.
+     */
+    private void binarySort(T[] list, int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            T pivot = list[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (compare(pivot, list[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(list, left, list, left + 1, start - left);
+            list[left] = pivot;
+        }
+    }
+
+    /*
+     * Finds the length of the run starting at low, reversing it in place if
+     * it is strictly descending. Only strictly descending runs are reversed
+     * so that equal elements keep their order.
+     * @param list The list to be examined.
+     * @param low The index of the first element of the run.
+     * @param high The index after the last element that may be in the run.
+     * @return The length of the run.
+     */
+    private int countRunAndMakeAscending(T[] list, int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (compare(list[runHigh++], list[low]) < 0) {
+            while (runHigh < high
+                    && compare(list[runHigh], list[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverseRange(list, low, runHigh);
+        } else {
+            while (runHigh < high
+                    && compare(list[runHigh], list[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /*
+     * Reverses the range [low, high) of the list.
+     * @param list The list to be modified.
+     * @param low The index of the first element of the range.
+     * @param high The index after the last element of the range.
+     */
+    private void reverseRange(T[] list, int low, int high) {
+        high--;
+        while (low < high) {
+            T temp = list[low];
+            list[low++] = list[high];
+            list[high--] = temp;
+        }
+    }
+
+    /*
+     * Computes the minimum run length for a list of the given length. The
+     * result is chosen so that the number of runs is a power of two, or
+     * slightly less, which keeps the final merges balanced.
+     * @param length The number of elements to be sorted.
+     * @return The minimum run length.
+     */
+    private int minRunLength(int length) {
+        int extra = 0;
+        while (length >= MIN_MERGE) {
+            extra |= length & 1;
+            length >>= 1;
+        }
+        return length + extra;
+    }
+
+    /*
+     * Pushes a run onto the pending run stack.
+     * @param base The index of the first element of the run.
+     * @param length The length of the run.
+     */
+    private void pushRun(int base, int length) {
+        this.runBase[this.stackSize] = base;
+        this.runLength[this.stackSize] = length;
+        this.stackSize++;
+    }
+
+    /*
+     * Merges adjacent runs until the run lengths on the stack satisfy
+     *   runLength[i - 3] > runLength[i - 2] + runLength[i - 1]
+     *   runLength[i - 2] > runLength[i - 1]
+     * for the topmost runs, which keeps the stack shallow and the merges
+     * balanced.
+     */
+    private void mergeCollapse() {
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && this.runLength[n - 1]
+                    <= this.runLength[n] + this.runLength[n + 1]
+                    || n > 1 && this.runLength[n - 2]
+                    <= this.runLength[n] + this.runLength[n - 1]) {
+                if (this.runLength[n - 1] < this.runLength[n + 1]) {
+                    n--;
+                }
+            } else if (this.runLength[n] > this.runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /*
+     * Merges all runs on the stack until only one remains.
+     */
+    private void mergeForceCollapse() {
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && this.runLength[n - 1] < this.runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /*
+     * Merges the runs at stack positions i and i + 1. Elements of the first
+     * run that are already in place, and elements of the second run that
+     * are already in place, are skipped before merging.
+     * @param i The stack position of the first run.
+     */
+    private void mergeAt(int i) {
+        int base1 = this.runBase[i];
+        int length1 = this.runLength[i];
+        int base2 = this.runBase[i + 1];
+        int length2 = this.runLength[i + 1];
+        this.runLength[i] = length1 + length2;
+        if (i == this.stackSize - 3) {
+            this.runBase[i + 1] = this.runBase[i + 2];
+            this.runLength[i + 1] = this.runLength[i + 2];
+        }
+        this.stackSize--;
+
+        int skipped = gallopRight(this.list[base2], this.list, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+        length2 = gallopLeft(this.list[base1 + length1 - 1], this.list, base2,
+                length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /*
+     * Finds the position at which to insert key into the sorted range
+     * [base, base + length) of the array, left of any equal elements. The
+     * search gallops outwards from the hint before binary searching.
+     * @param key The key whose position is searched for.
+     * @param array The array to be searched.
+     * @param base The index of the first element of the range.
+     * @param length The length of the range.
+     * @param hint The offset in the range to start the search from.
+     * @return The number of elements in the range less than key.
+     */
+    private int gallopLeft(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, array[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset
+                    && compare(key, array[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset
+                    && compare(key, array[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, array[base + mid]) > 0) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /*
+     * Finds the position at which to insert key into the sorted range
+     * [base, base + length) of the array, right of any equal elements. The
+     * search gallops outwards from the hint before binary searching.
+     * @param key The key whose position is searched for.
+     * @param array The array to be searched.
+     * @param base The index of the first element of the range.
+     * @param length The length of the range.
+     * @param hint The offset in the range to start the search from.
+     * @return The number of elements in the range less than or equal to key.
+     */
+    private int gallopRight(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, array[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset
+                    && compare(key, array[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset
+                    && compare(key, array[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, array[base + mid]) < 0) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /*
+     * Merges two adjacent runs in place, front to back, where the first run
+     * is the shorter one. The first run is copied into the scratch buffer.
+     * The first element of the second run must belong before the first run,
+     * and the last element of the first run must belong after the second.
+     * @param base1 The index of the first element of the first run.
+     * @param length1 The length of the first run.
+     * @param base2 The index of the first element of the second run.
+     * @param length2 The length of the second run.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        T[] list = this.list;
+        T[] temp = ensureBuffer(length1);
+        System.arraycopy(list, base1, temp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        list[dest++] = list[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(temp, cursor1, list, dest, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(list, cursor2, list, dest, length2);
+            list[dest + length2] = temp[cursor1];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (compare(list[cursor2], temp[cursor1]) < 0) {
+                    list[dest++] = list[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    list[dest++] = temp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                count1 = gallopRight(list[cursor2], temp, cursor1, length1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(temp, cursor1, list, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) {
+                        break outer;
+                    }
+                }
+                list[dest++] = list[cursor2++];
+                if (--length2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(temp[cursor1], list, cursor2, length2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(list, cursor2, list, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) {
+                        break outer;
+                    }
+                }
+                list[dest++] = temp[cursor1++];
+                if (--length1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (length1 == 1) {
+            System.arraycopy(list, cursor2, list, dest, length2);
+            list[dest + length2] = temp[cursor1];
+        } else if (length1 == 0) {
+            throw new IllegalArgumentException(
+                    "Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, cursor1, list, dest, length1);
+        }
+    }
+
+    /*
+     * Merges two adjacent runs in place, back to front, where the second run
+     * is the shorter one. The second run is copied into the scratch buffer.
+     * The first element of the second run must belong before the first run,
+     * and the last element of the first run must belong after the second.
+     * @param base1 The index of the first element of the first run.
+     * @param length1 The length of the first run.
+     * @param base2 The index of the first element of the second run.
+     * @param length2 The length of the second run.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        T[] list = this.list;
+        T[] temp = ensureBuffer(length2);
+        System.arraycopy(list, base2, temp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+
+        list[dest--] = list[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(temp, 0, list, dest - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            System.arraycopy(list, cursor1 + 1, list, dest + 1, length1);
+            list[dest] = temp[cursor2];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (compare(temp[cursor2], list[cursor1]) < 0) {
+                    list[dest--] = list[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    list[dest--] = temp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                count1 = length1 - gallopRight(temp[cursor2], list, base1,
+                        length1, length1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    System.arraycopy(list, cursor1 + 1, list, dest + 1, count1);
+                    if (length1 == 0) {
+                        break outer;
+                    }
+                }
+                list[dest--] = temp[cursor2--];
+                if (--length2 == 1) {
+                    break outer;
+                }
+                count2 = length2 - gallopLeft(list[cursor1], temp, 0, length2,
+                        length2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    System.arraycopy(temp, cursor2 + 1, list, dest + 1, count2);
+                    if (length2 <= 1) {
+                        break outer;
+                    }
+                }
+                list[dest--] = list[cursor1--];
+                if (--length1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            System.arraycopy(list, cursor1 + 1, list, dest + 1, length1);
+            list[dest] = temp[cursor2];
+        } else if (length2 == 0) {
+            throw new IllegalArgumentException(
+                    "Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, 0, list, dest - (length2 - 1), length2);
+        }
+    }
+
+    /*
+     * Returns the scratch buffer, growing it first if it cannot hold the
+     * given number of elements. The buffer grows to the next power of two,
+     * but never beyond half the list, which is the longest run a merge ever
+     * copies.
+     * @param minCapacity The number of elements the buffer must hold.
+     * @return The scratch buffer.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] ensureBuffer(int minCapacity) {
+        if (this.buffer == null || this.buffer.length < minCapacity) {
+            int newCapacity = Integer.highestOneBit(minCapacity) << 1;
+            if (newCapacity < 0 || newCapacity > this.list.length >>> 1) {
+                newCapacity = Math.max(minCapacity, this.list.length >>> 1);
+            }
+            this.buffer = (T[]) new Comparable[newCapacity];
+        }
+        return this.buffer;
+    }
+
+    /*
+     * Compares two elements, counting the comparison if counting is on.
+     * @param a The first element.
+     * @param b The second element.
+     * @return A negative number, zero or a positive number as a is less
+     *         than, equal to or greater than b.
+     */
+    private int compare(T a, T b) {
+        if (this.counting) {
+            this.comparisons++;
+        }
+        return a.compareTo(b);
     }
 }
@@ -0,0 +1,278 @@
+package Sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * A generic, stable, parallel merge sort built on fork/join.
+ *
+ * The range is split in halves until the pieces are no longer than the
+ * threshold. The pieces are sorted in parallel with the sequential merge
+ * sort, then merged back up in parallel. A large merge is itself split by
+ * taking the middle element of the longer run and binary searching for its
+ * position in the shorter one. The sorted halves alternate between the list
+ * and a single workspace array, so each level copies every element once.
+ */
+public class ParallelMergeSort<T extends Comparable<T>> {
+
+    // Instance variables
+
+    /*
+     * The pool the sort tasks run in.
+     */
+    private final ForkJoinPool pool;
+
+    /*
+     * Ranges no longer than this are sorted or merged sequentially.
+     */
+    private final int threshold;
+
+    /*
+     * The default sequential threshold.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    // Constructors
+
+    /*
+     * Constructs a new parallel merge sort that runs in the common pool with
+     * the default threshold.
+     */
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /*
+     * Constructs a new parallel merge sort that runs in the given pool.
+     * @param pool The pool the sort tasks run in.
+     * @param threshold The length at or below which ranges are sorted and
+     *        merged sequentially.
+     * @throws IllegalArgumentException if pool is null or threshold < 1.
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int threshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    // Methods
+
+    /*
+     * Sorts the elements in the list in ascending order using a parallel
+     * merge sort.
+     * @param list The list to be sorted in place.
+     * @throws IllegalArgumentException if list is null.
+     * @return The sorted list.
+     */
+    public T[] parallelSort(T[] list) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        sort(list, 0, list.length);
+        return list;
+    }
+
+    /*
+     * Sorts the elements of the list from the given fromIndex (inclusive) to
+     * the given toIndex (exclusive) in ascending order using a parallel
+     * merge sort.
+     * @param list The list to be sorted in place.
+     * @param fromIndex The index of the first element to be sorted.
+     * @param toIndex The index after the last element to be sorted.
+     * @throws IllegalArgumentException if list is null.
+     * @throws IndexOutOfBoundsException if fromIndex < 0,
+     *         toIndex > list.length, or fromIndex > toIndex.
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(T[] list, int fromIndex, int toIndex) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        if (fromIndex < 0 || toIndex > list.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        if (toIndex - fromIndex <= this.threshold) {
+            new MergeSort<T>().sort(list, fromIndex, toIndex);
+            return;
+        }
+        T[] workspace = (T[]) new Comparable[toIndex - fromIndex];
+        this.pool.invoke(new SortTask(list, workspace, fromIndex, fromIndex,
+                toIndex, false));
+    }
+
+    // Helper classes
+
+    /*
+     * Sorts the range [low, high) of the list, leaving the result either in
+     * the list or in the workspace. Workspace index i holds list index
+     * base + i.
+     */
+    @SuppressWarnings("serial")
+    private class SortTask extends RecursiveAction {
+
+        private final T[] list;
+        private final T[] workspace;
+        private final int base;
+        private final int low;
+        private final int high;
+        private final boolean intoWorkspace;
+
+        SortTask(T[] list, T[] workspace, int base, int low, int high,
+                boolean intoWorkspace) {
+            this.list = list;
+            this.workspace = workspace;
+            this.base = base;
+            this.low = low;
+            this.high = high;
+            this.intoWorkspace = intoWorkspace;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.high - this.low <= threshold) {
+                new MergeSort<T>().sort(this.list, this.low, this.high);
+                if (this.intoWorkspace) {
+                    System.arraycopy(this.list, this.low, this.workspace,
+                            this.low - this.base, this.high - this.low);
+                }
+                return;
+            }
+            int mid = (this.low + this.high) >>> 1;
+            invokeAll(
+                    new SortTask(this.list, this.workspace, this.base,
+                            this.low, mid, !this.intoWorkspace),
+                    new SortTask(this.list, this.workspace, this.base,
+                            mid, this.high, !this.intoWorkspace));
+            if (this.intoWorkspace) {
+                new MergeTask(this.list, 0, this.workspace, -this.base,
+                        this.low, mid, mid, this.high, this.low).invoke();
+            } else {
+                new MergeTask(this.workspace, -this.base, this.list, 0,
+                        this.low, mid, mid, this.high, this.low).invoke();
+            }
+        }
+    }
+
+    /*
+     * Stably merges the sorted runs [low1, high1) and [low2, high2) of the
+     * source into the destination starting at index destLow. Indexes are
+     * list indexes; an array's offset is added to them to find the slot in
+     * that array.
+     */
+    @SuppressWarnings("serial")
+    private class MergeTask extends RecursiveAction {
+
+        private final T[] source;
+        private final int sourceOffset;
+        private final T[] dest;
+        private final int destOffset;
+        private final int low1;
+        private final int high1;
+        private final int low2;
+        private final int high2;
+        private final int destLow;
+
+        MergeTask(T[] source, int sourceOffset, T[] dest, int destOffset,
+                int low1, int high1, int low2, int high2, int destLow) {
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+            this.dest = dest;
+            this.destOffset = destOffset;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.destLow = destLow;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = this.high1 - this.low1;
+            int length2 = this.high2 - this.low2;
+            if (length1 + length2 <= threshold
+                    || Math.max(length1, length2) < 2) {
+                mergeSequentially();
+                return;
+            }
+            int split1;
+            int split2;
+            if (length1 >= length2) {
+                split1 = (this.low1 + this.high1) >>> 1;
+                split2 = lowerBound(this.source[split1 + this.sourceOffset],
+                        this.low2, this.high2);
+            } else {
+                split2 = (this.low2 + this.high2) >>> 1;
+                split1 = upperBound(this.source[split2 + this.sourceOffset],
+                        this.low1, this.high1);
+            }
+            int destSplit = this.destLow + (split1 - this.low1)
+                    + (split2 - this.low2);
+            invokeAll(
+                    new MergeTask(this.source, this.sourceOffset, this.dest,
+                            this.destOffset, this.low1, split1, this.low2,
+                            split2, this.destLow),
+                    new MergeTask(this.source, this.sourceOffset, this.dest,
+                            this.destOffset, split1, this.high1, split2,
+                            this.high2, destSplit));
+        }
+
+        /*
+         * Merges the two runs one element at a time, taking from the first
+         * run on ties so the merge is stable.
+         */
+        private void mergeSequentially() {
+            T[] source = this.source;
+            int i = this.low1 + this.sourceOffset;
+            int end1 = this.high1 + this.sourceOffset;
+            int j = this.low2 + this.sourceOffset;
+            int end2 = this.high2 + this.sourceOffset;
+            int k = this.destLow + this.destOffset;
+            while (i < end1 && j < end2) {
+                if (source[j].compareTo(source[i]) < 0) {
+                    this.dest[k++] = source[j++];
+                } else {
+                    this.dest[k++] = source[i++];
+                }
+            }
+            System.arraycopy(source, i, this.dest, k, end1 - i);
+            System.arraycopy(source, j, this.dest, k + (end1 - i), end2 - j);
+        }
+
+        /*
+         * Finds the first index in [low, high) of the source whose element is
+         * not less than key.
+         */
+        private int lowerBound(T key, int low, int high) {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.source[mid + this.sourceOffset].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /*
+         * Finds the first index in [low, high) of the source whose element is
+         * greater than key.
+         */
+        private int upperBound(T key, int low, int high) {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.source[mid + this.sourceOffset].compareTo(key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
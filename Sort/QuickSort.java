@@ -1,13 +1,290 @@
 package Sort;
 
 /*
- * 
+ * A generic introspective dual-pivot quick sort.
+ *
+ * Each partition samples five evenly spaced elements and takes the second
+ * and fourth smallest as pivots, splitting the range into three parts. If
+ * the two pivots are equal the range is split three ways around a single
+ * pivot instead, so runs of duplicates cost linear time. Partitions shorter
+ * than a small cutoff are finished with insertion sort, and once recursion
+ * gets deeper than about 2 log2(n) levels the remaining range is handed to
+ * heap sort, which bounds the worst case at O(n log n). The sort is in place
+ * but not stable.
  */
 public class QuickSort<T extends Comparable<T>> {
+
+    // Instance variables
+
+    /*
+     * Sorts partitions shorter than the cutoff.
+     */
+    private final InsertionSort<T> insertionSort;
+
+    /*
+     * Sorts ranges once the recursion gets too deep.
+     */
+    private final HeapSort<T> heapSort;
+
+    /*
+     * The number of comparisons made while counting was on.
+     */
+    private long comparisons;
+
+    /*
+     * Whether compare counts comparisons. Off by default, so a sort pays
+     * only a predictable branch per comparison unless it is measured.
+     */
+    private boolean counting;
+
+    /*
+     * Partitions shorter than this are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    // Constructor
+
+    /*
+     * Constructs a new quick sort.
+     */
+    public QuickSort() {
+        this.insertionSort = new InsertionSort<>();
+        this.heapSort = new HeapSort<>();
+    }
+
+    // Methods
+
     /*
      * Sorts the elements in the list in ascending order using quick sort.
+     * @param list The list to be sorted in place.
+     * @throws IllegalArgumentException if list is null.
+     * @return The sorted list.
      */
     public T[] quickSort(T[] list) {
-        return null;
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        sort(list, 0, list.length);
+        return list;
+    }
+
+    /*
+     * Sorts the elements of the list from the given fromIndex (inclusive) to
+     * the given toIndex (exclusive) in ascending order using quick sort.
+     * @param list The list to be sorted in place.
+     * @param fromIndex The index of the first element to be sorted.
+     * @param toIndex The index after the last element to be sorted.
+     * @throws IllegalArgumentException if list is null.
+     * @throws IndexOutOfBoundsException if fromIndex < 0,
+     *         toIndex > list.length, or fromIndex > toIndex.
+     */
+    public void sort(T[] list, int fromIndex, int toIndex) {
+        if (list == null) {
+            throw new IllegalArgumentException("List cannot be null");
+        }
+        if (fromIndex < 0 || toIndex > list.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+        int length = toIndex - fromIndex;
+        if (length < 2) {
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(length));
+        sort(list, fromIndex, toIndex, depthLimit);
+    }
+
+    /*
+     * Returns the number of comparisons made by the sorts run through this
+     * instance while counting was on, including those made by the insertion
+     * sort and heap sort it hands ranges to. The count is cumulative, so
+     * callers measure a single sort by taking the difference before and
+     * after it.
+     * @return The number of comparisons counted so far.
+     */
+    public long getComparisons() {
+        return this.comparisons + this.insertionSort.getComparisons()
+                + this.heapSort.getComparisons();
+    }
+
+    /*
+     * Turns comparison counting on or off, here and in the insertion sort
+     * and heap sort it hands ranges to. Counting is off by default.
+     * @param counting true to count comparisons, false to stop.
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+        this.insertionSort.setCounting(counting);
+        this.heapSort.setCounting(counting);
+    }
+
+    // Helper methods
+
+    /*
+     * Sorts the range [low, high) of the list, falling back to heap sort
+     * once the remaining depth budget is used up.
+     * @param list The list to be sorted.
+     * @param low The index of the first element of the range.
+     * @param high The index after the last element of the range.
+     * @param depth The number of partitioning levels still allowed.
+     */
+    private void sort(T[] list, int low, int high, int depth) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            this.insertionSort.sortRange(list, low, high);
+            return;
+        }
+        if (depth == 0) {
+            this.heapSort.sortRange(list, low, high);
+            return;
+        }
+        depth--;
+
+        int seventh = (length >> 3) + (length >> 6) + 1;
+        int e3 = (low + high - 1) >>> 1;
+        int e2 = e3 - seventh;
+        int e1 = e2 - seventh;
+        int e4 = e3 + seventh;
+        int e5 = e4 + seventh;
+        sortSamples(list, e1, e2, e3, e4, e5);
+
+        if (compare(list[e2], list[e4]) == 0) {
+            partitionSinglePivot(list, low, high, e3, depth);
+            return;
+        }
+
+        swap(list, e2, low);
+        swap(list, e4, high - 1);
+        T pivot1 = list[low];
+        T pivot2 = list[high - 1];
+
+        int less = low + 1;
+        int great = high - 2;
+        for (int k = less; k <= great; k++) {
+            T element = list[k];
+            if (compare(element, pivot1) < 0) {
+                swap(list, k, less++);
+            } else if (compare(element, pivot2) > 0) {
+                while (k < great && compare(list[great], pivot2) > 0) {
+                    great--;
+                }
+                swap(list, k, great--);
+                if (compare(list[k], pivot1) < 0) {
+                    swap(list, k, less++);
+                }
+            }
+        }
+        less--;
+        great++;
+        swap(list, low, less);
+        swap(list, high - 1, great);
+
+        sort(list, low, less, depth);
+        sort(list, great + 1, high, depth);
+
+        int middleLow = less + 1;
+        int middleHigh = great - 1;
+        if (middleHigh - middleLow > length / 7 * 4) {
+            // A large middle part usually means many elements equal to one
+            // of the pivots. Move those to the ends so they are not sorted.
+            while (middleLow <= middleHigh
+                    && compare(list[middleLow], pivot1) == 0) {
+                middleLow++;
+            }
+            while (middleHigh >= middleLow
+                    && compare(list[middleHigh], pivot2) == 0) {
+                middleHigh--;
+            }
+            for (int k = middleLow; k <= middleHigh; k++) {
+                T element = list[k];
+                if (compare(element, pivot1) == 0) {
+                    swap(list, k, middleLow++);
+                } else if (compare(element, pivot2) == 0) {
+                    while (k < middleHigh
+                            && compare(list[middleHigh], pivot2) == 0) {
+                        middleHigh--;
+                    }
+                    swap(list, k, middleHigh--);
+                    if (compare(list[k], pivot1) == 0) {
+                        swap(list, k, middleLow++);
+                    }
+                }
+            }
+        }
+        sort(list, middleLow, middleHigh + 1, depth);
+    }
+
+    /*
+     * Partitions the range [low, high) three ways around the element at the
+     * given pivot index and sorts the parts less than and greater than it.
+     * Elements equal to the pivot are left in place in the middle.
+     * @param list The list to be sorted.
+     * @param low The index of the first element of the range.
+     * @param high The index after the last element of the range.
+     * @param pivotIndex The index of the pivot element.
+     * @param depth The number of partitioning levels still allowed.
+     */
+    private void partitionSinglePivot(T[] list, int low, int high,
+            int pivotIndex, int depth) {
+        T pivot = list[pivotIndex];
+        int less = low;
+        int great = high - 1;
+        int k = low;
+        while (k <= great) {
+            int comparison = compare(list[k], pivot);
+            if (comparison < 0) {
+                swap(list, k++, less++);
+            } else if (comparison > 0) {
+                swap(list, k, great--);
+            } else {
+                k++;
+            }
+        }
+        sort(list, low, less, depth);
+        sort(list, great + 1, high, depth);
+    }
+
+    /*
+     * Sorts the five sample elements at the given indexes in place.
+     * @param list The list holding the samples.
+     * @param e1 The index of the first sample.
+     * @param e2 The index of the second sample.
+     * @param e3 The index of the third sample.
+     * @param e4 The index of the fourth sample.
+     * @param e5 The index of the fifth sample.
+     */
+    private void sortSamples(T[] list, int e1, int e2, int e3, int e4, int e5) {
+        int[] samples = {e1, e2, e3, e4, e5};
+        for (int i = 1; i < samples.length; i++) {
+            for (int j = i; j > 0 && compare(list[samples[j]],
+                    list[samples[j - 1]]) < 0; j--) {
+                swap(list, samples[j], samples[j - 1]);
+            }
+        }
+    }
+
+    /*
+     * Swaps the elements at the given indexes.
+     * @param list The list holding the elements.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private void swap(T[] list, int i, int j) {
+        T temp = list[i];
+        list[i] = list[j];
+        list[j] = temp;
+    }
+
+    /*
+     * Compares two elements, counting the comparison if counting is on.
+     * @param a The first element.
+     * @param b The second element.
+     * @return A negative number, zero or a positive number as a is less
+     *         than, equal to or greater than b.
+     */
+    private int compare(T a, T b) {
+        if (this.counting) {
+            this.comparisons++;
+        }
+        return a.compareTo(b);
     }
 }
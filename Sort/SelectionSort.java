@@ -1,13 +1,53 @@
 package Sort;
 
 /*
- *
+ * A generic selection sort implementation. Quadratic, but it makes at most
+ * n - 1 swaps, so it suits lists whose writes are expensive.
  */
 public class SelectionSort<T extends Comparable<T>> {
   /*
    * Sorts the elements in the list in ascending order using selection sort.
+   * @param list The list to be sorted in place.
+   * @throws IllegalArgumentException if list is null.
+   * @return The sorted list.
    */
   public T[] selectionSort(T[] list) {
-    return null;
-  } 
+    if (list == null) {
+      throw new IllegalArgumentException("List cannot be null");
+    }
+    sort(list, 0, list.length);
+    return list;
+  }
+
+  /*
+   * Sorts the elements of the list from the given fromIndex (inclusive) to
+   * the given toIndex (exclusive) in ascending order using selection sort.
+   * @param list The list to be sorted in place.
+   * @param fromIndex The index of the first element to be sorted.
+   * @param toIndex The index after the last element to be sorted.
+   * @throws IllegalArgumentException if list is null.
+   * @throws IndexOutOfBoundsException if fromIndex < 0,
+   *         toIndex > list.length, or fromIndex > toIndex.
+   */
+  public void sort(T[] list, int fromIndex, int toIndex) {
+    if (list == null) {
+      throw new IllegalArgumentException("List cannot be null");
+    }
+    if (fromIndex < 0 || toIndex > list.length || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    for (int i = fromIndex; i < toIndex - 1; i++) {
+      int minIndex = i;
+      for (int j = i + 1; j < toIndex; j++) {
+        if (list[j].compareTo(list[minIndex]) < 0) {
+          minIndex = j;
+        }
+      }
+      if (minIndex != i) {
+        T temp = list[i];
+        list[i] = list[minIndex];
+        list[minIndex] = temp;
+      }
+    }
+  }
 }
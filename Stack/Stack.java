@@ -1,6 +1,7 @@
 package Stack;
 
 import Array.DynamicArray;
+import Array.GrowthPolicy;
 
 /*
  * A generic stack implementation.
@@ -14,6 +15,13 @@ public class Stack<T extends Comparable<T>> extends DynamicArray<T> implements S
         super();
     }
 
+    /*
+     * Constructor to initialise the stack with the given growth policy.
+     */
+    public Stack(GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+    }
+
     /*
      * Checks if the stack is empty.
      */